@@ -0,0 +1,48 @@
+package tacos;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts Taco Cloud without a web server, against its own embedded H2 database, for benchmarks that need real beans.
+ */
+public final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TacoCloudApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.name=jmh",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn")
+                .properties(properties)
+                .run();
+    }
+
+    public static TacoOrder newOrder(int tacos) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Bench McMark");
+        order.setDeliveryStreet("1234 Bench Lane");
+        order.setDeliveryCity("Benchville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("90011");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("12/29");
+        order.setCcCvv("123");
+
+        for (int i = 0; i < tacos; i++) {
+            Taco taco = new Taco();
+            taco.setName("Benchmark Taco " + i);
+            taco.addIngredient(new Ingredient("FLTO", "Flour Tortilla", Ingredient.Type.WRAP));
+            taco.addIngredient(new Ingredient("GRBF", "Ground Beef", Ingredient.Type.PROTEIN));
+            taco.addIngredient(new Ingredient("CHED", "Cheddar", Ingredient.Type.CHEESE));
+            taco.addIngredient(new Ingredient("SLSA", "Salsa", Ingredient.Type.SAUCE));
+            order.addTaco(taco);
+        }
+        return order;
+    }
+}
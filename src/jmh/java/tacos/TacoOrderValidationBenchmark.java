@@ -0,0 +1,52 @@
+package tacos;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+
+/**
+ * Bean Validation of the order form, dominated by the {@code @CreditCardNumber} Luhn check and the expiry
+ * {@code @Pattern}.
+ */
+@State(Scope.Benchmark)
+public class TacoOrderValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TacoOrder validOrder;
+    private TacoOrder invalidOrder;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validOrder = BenchmarkApplication.newOrder(3);
+        invalidOrder = BenchmarkApplication.newOrder(3);
+        invalidOrder.setCcNumber("1234432112344322");
+        invalidOrder.setCcExpiration("14/91");
+        invalidOrder.setCcCvv("1234");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TacoOrder>> validateValidOrder() {
+        return validator.validate(validOrder);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TacoOrder>> validateInvalidOrder() {
+        return validator.validate(invalidOrder);
+    }
+}
@@ -0,0 +1,113 @@
+package tacos.analytics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cost of counting one three-taco order as more threads place orders at once. {@link IngredientPopularity} should
+ * stay roughly flat per thread; the single-lock baseline shows what contention would cost. Run with
+ * {@code gradle jmh -Pjmh.includes=IngredientPopularityBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class IngredientPopularityBenchmark {
+    private IngredientPopularity popularity;
+    private LockedCounts baseline;
+    private TacoOrder order;
+
+    @Setup
+    public void setUp() {
+        popularity = new IngredientPopularity();
+        baseline = new LockedCounts();
+        order = new TacoOrder();
+        order.addTaco(taco(new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+                new Ingredient("CHED", "Cheddar", Type.CHEESE),
+                new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES),
+                new Ingredient("SLSA", "Salsa", Type.SAUCE)));
+        order.addTaco(taco(new Ingredient("COTO", "Corn Tortilla", Type.WRAP),
+                new Ingredient("CARN", "Carnitas", Type.PROTEIN),
+                new Ingredient("JACK", "Monterrey Jack", Type.CHEESE),
+                new Ingredient("LETC", "Lettuce", Type.VEGGIES),
+                new Ingredient("SRCR", "Sour Cream", Type.SAUCE)));
+        order.addTaco(taco(new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("CARN", "Carnitas", Type.PROTEIN),
+                new Ingredient("SLSA", "Salsa", Type.SAUCE)));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordOrder1Thread() {
+        popularity.recordOrder(order);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordOrder4Threads() {
+        popularity.recordOrder(order);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void recordOrder16Threads() {
+        popularity.recordOrder(order);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void recordOrder64Threads() {
+        popularity.recordOrder(order);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lockedBaseline1Thread() {
+        baseline.record(order);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void lockedBaseline16Threads() {
+        baseline.record(order);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void lockedBaseline64Threads() {
+        baseline.record(order);
+    }
+
+    private static Taco taco(Ingredient... ingredients) {
+        Taco taco = new Taco();
+        for (Ingredient ingredient : ingredients) {
+            taco.addIngredient(ingredient);
+        }
+        return taco;
+    }
+
+    /**
+     * Baseline: plain counts per ingredient and type behind one lock, with no windows at all.
+     */
+    private static class LockedCounts {
+        private final Map<String, Long> byIngredient = new HashMap<>();
+        private final Map<Type, Long> byType = new HashMap<>();
+
+        synchronized void record(TacoOrder order) {
+            for (Taco taco : order.getTacos()) {
+                for (Ingredient ingredient : taco.getIngredients()) {
+                    byIngredient.merge(ingredient.getId(), 1L, Long::sum);
+                    byType.merge(ingredient.getType(), 1L, Long::sum);
+                }
+            }
+        }
+    }
+}
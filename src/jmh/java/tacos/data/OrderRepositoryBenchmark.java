@@ -0,0 +1,50 @@
+package tacos.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.BenchmarkApplication;
+import tacos.TacoOrder;
+
+/**
+ * Saves complete orders against embedded H2, including sequence allocation and batched inserts.
+ * <p>
+ * {@code row-by-row} turns JDBC batching off, sending one INSERT per row as the old IDENTITY ids forced, so it is the
+ * baseline that {@code batched} is compared with. Ids come from the pooled sequences in both modes; the generator is
+ * fixed by the entity mappings.
+ */
+@State(Scope.Benchmark)
+public class OrderRepositoryBenchmark {
+    @Param({"1", "10", "100"})
+    private int tacos;
+
+    @Param({"row-by-row", "batched"})
+    private String inserts;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepo;
+
+    @Setup
+    public void setUp() {
+        context = inserts.equals("batched")
+                ? BenchmarkApplication.start()
+                : BenchmarkApplication.start(
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+                        "spring.jpa.properties.hibernate.order_inserts=false");
+        orderRepo = context.getBean(OrderRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TacoOrder save() {
+        return orderRepo.save(BenchmarkApplication.newOrder(tacos));
+    }
+}
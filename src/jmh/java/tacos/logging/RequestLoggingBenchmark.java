@@ -0,0 +1,140 @@
+package tacos.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * The logging done while serving one design -> order round trip: the designed taco, the submitted order and the
+ * three SQL statements saving it. The baseline logs the way the controllers used to, with eagerly concatenated
+ * {@code toString()}s at INFO through a synchronous appender and SQL printed by show-sql. The production variant uses
+ * the prod profile's setup from logback-spring.xml: parameterized messages, sampled debug output and SQL, and an
+ * asynchronous appender. Both write to a null stream, so the numbers leave out the time spent blocked on a real
+ * console. Compare {@code gc.alloc.rate.norm} (bytes per request) with {@code gradle jmh
+ * -Pjmh.includes=RequestLoggingBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+    private static final List<String> SQL = List.of(
+            "insert into taco_order (cc_cvv,cc_expiration,cc_number,delivery_city,delivery_name,delivery_state,"
+                    + "delivery_street,delivery_zip,placed_at,id) values (?,?,?,?,?,?,?,?,?,?)",
+            "insert into taco (created_at,name,recipe_id,id) values (?,?,?,?)",
+            "insert into taco_order_tacos (taco_order_id,tacos_id) values (?,?)");
+
+    private LoggerContext blockingContext;
+    private LoggerContext productionContext;
+    private Logger blockingLog;
+    private PrintStream showSql;
+    private Logger productionLog;
+    private Logger productionSqlLog;
+
+    private Taco taco;
+    private TacoOrder order;
+
+    @Setup
+    public void setUp() {
+        blockingContext = new LoggerContext();
+        blockingLog = blockingContext.getLogger("tacos.web.OrderController");
+        blockingLog.setLevel(Level.INFO);
+        blockingLog.addAppender(nullAppender(blockingContext));
+        showSql = new PrintStream(OutputStream.nullOutputStream());
+
+        productionContext = new LoggerContext();
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setLoggers("tacos.web, org.hibernate.SQL");
+        sampling.setEventsPerSecond(10);
+        sampling.setContext(productionContext);
+        sampling.start();
+        productionContext.addTurboFilter(sampling);
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(productionContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(nullAppender(productionContext));
+        async.start();
+        productionLog = productionContext.getLogger("tacos.web.OrderController");
+        productionLog.setLevel(Level.DEBUG);
+        productionLog.addAppender(async);
+        productionSqlLog = productionContext.getLogger("org.hibernate.SQL");
+        productionSqlLog.setLevel(Level.DEBUG);
+        productionSqlLog.addAppender(async);
+
+        taco = new Taco();
+        taco.setName("Benchmark Taco");
+        taco.setIngredients(List.of(
+                new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+                new Ingredient("CHED", "Cheddar", Type.CHEESE),
+                new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES),
+                new Ingredient("SLSA", "Salsa", Type.SAUCE)));
+        order = new TacoOrder();
+        order.setId(42L);
+        order.setDeliveryName("Iam Hungry");
+        order.setDeliveryStreet("1000 Food Blvd.");
+        order.setDeliveryCity("Foodsville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("90011");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("12/29");
+        order.setCcCvv("123");
+        order.addTaco(taco);
+    }
+
+    @TearDown
+    public void tearDown() {
+        blockingContext.stop();
+        productionContext.stop();
+    }
+
+    @Benchmark
+    public void eagerBlocking() {
+        blockingLog.info("Processing taco: " + taco);
+        for (String sql : SQL) {
+            showSql.println("Hibernate: " + sql);
+        }
+        blockingLog.info("Order submitted: " + order);
+    }
+
+    @Benchmark
+    public void parameterizedSampledAsync() {
+        productionLog.debug("Processing taco: {}", taco);
+        for (String sql : SQL) {
+            productionSqlLog.debug(sql);
+        }
+        productionLog.info("Order {} submitted with {} tacos", order.getId(), order.getTacos().size());
+        productionLog.debug("Order submitted: {}", order);
+    }
+
+    private static Appender<ILoggingEvent> nullAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,69 @@
+package tacos.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.BenchmarkApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+
+/**
+ * Serves the design page over HTTP three ways: a first visit using the cached ingredient grid, a revisit answered with
+ * 304 Not Modified, and a form re-rendered with errors, which renders the whole page live as every visit used to.
+ * The returned byte arrays show what each costs on the wire; the gc profiler shows what each allocates.
+ */
+@State(Scope.Benchmark)
+public class DesignPageBenchmark {
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI designUri;
+    private String etag;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("spring.main.web-application-type=servlet", "server.port=0");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        designUri = URI.create("http://localhost:" + port + "/design");
+        client = HttpClient.newHttpClient();
+        etag = client.send(HttpRequest.newBuilder(designUri).build(), BodyHandlers.discarding())
+                .headers().firstValue("ETag").orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] firstVisit() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(designUri).build());
+    }
+
+    @Benchmark
+    public byte[] revisit() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(designUri).header("If-None-Match", etag).build());
+    }
+
+    @Benchmark
+    public byte[] liveRender() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(designUri)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(BodyPublishers.ofString("name=Tac&ingredients=FLTO&ingredients=GRBF"))
+                .build());
+    }
+
+    private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, BodyHandlers.ofByteArray());
+        return response.body();
+    }
+}
@@ -0,0 +1,61 @@
+package tacos.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+import tacos.BenchmarkApplication;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.data.IngredientRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class DesignTacoControllerBenchmark {
+    private ConfigurableApplicationContext context;
+    private DesignTacoController controller;
+    private IngredientRepository ingredientRepo;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        controller = context.getBean(DesignTacoController.class);
+        ingredientRepo = context.getBean(IngredientRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Model addIngredientsToModel() {
+        Model model = new ExtendedModelMap();
+        controller.addIngredientsToModel(model);
+        return model;
+    }
+
+    /**
+     * Baseline: what the controller did before the ingredient catalog, a {@code findAll} plus one filtered pass over
+     * the list per ingredient type.
+     */
+    @Benchmark
+    public Model findAllAndFilterByType() {
+        List<Ingredient> ingredients = new ArrayList<>();
+        ingredientRepo.findAll().forEach(ingredients::add);
+
+        Model model = new ExtendedModelMap();
+        for (Type type : Type.values()) {
+            model.addAttribute(type.toString().toLowerCase(), ingredients.stream()
+                    .filter(ingredient -> ingredient.getType().equals(type))
+                    .toList());
+        }
+        return model;
+    }
+}
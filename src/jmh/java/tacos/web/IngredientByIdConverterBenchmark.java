@@ -0,0 +1,48 @@
+package tacos.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.BenchmarkApplication;
+import tacos.Ingredient;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class IngredientByIdConverterBenchmark {
+    private static final String[] TACO = {"FLTO", "GRBF", "CHED", "TMTO", "SLSA"};
+
+    private ConfigurableApplicationContext context;
+    private IngredientByIdConverter converter;
+    private IngredientsByIdsConverter listConverter;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        converter = context.getBean(IngredientByIdConverter.class);
+        listConverter = context.getBean(IngredientsByIdsConverter.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Ingredient convert() {
+        return converter.convert("GRBF");
+    }
+
+    @Benchmark
+    public Ingredient convertUnknown() {
+        return converter.convert("XXXX");
+    }
+
+    @Benchmark
+    public List<Ingredient> convertTaco() {
+        return listConverter.convert(TACO);
+    }
+}
@@ -0,0 +1,172 @@
+package tacos.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.TacoCloudApplication;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overloads POST /design and POST /orders, far more clients than a small connection pool can serve with no think
+ * time, with and without admission control. Clients honour Retry-After, as browsers retrying behind a well-behaved
+ * front end would. Reports latency of the requests that were served and how many were shed, and checks that with
+ * admission control the p99 of served requests stays within the budget. Run with
+ * {@code gradle loadTest --tests '*AdmissionLoadTest' -Pload.customers=800 -Pload.durationSeconds=60}.
+ */
+class AdmissionLoadTest {
+    private static final String DESIGN_FORM = "name=Load+Taco&ingredients=FLTO&ingredients=GRBF&ingredients=CHED";
+    private static final String ORDER_FORM = "deliveryName=Iam+Hungry&deliveryStreet=1000+Food+Blvd."
+            + "&deliveryCity=Foodsville&deliveryState=CA&deliveryZip=90011"
+            + "&ccNumber=4111111111111111&ccExpiration=12%2F29&ccCvv=123";
+
+    @Test
+    void compareWithAndWithoutAdmissionControl() throws Exception {
+        int customers = Integer.getInteger("load.customers", 400);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30));
+        long p99BudgetMillis = Long.getLong("load.p99BudgetMs", 1000);
+
+        Result unguarded = run("no admission control", false, customers, duration);
+        Result guarded = run("admission control", true, customers, duration);
+
+        System.out.printf("%n%d clients for %ds, p99 budget %d ms%n", customers, duration.toSeconds(), p99BudgetMillis);
+        unguarded.print();
+        guarded.print();
+
+        assertThat(guarded.errors.sum()).isZero();
+        assertThat(guarded.served.getValueAtPercentile(99) / 1e6).isLessThanOrEqualTo(p99BudgetMillis);
+    }
+
+    private Result run(String name, boolean admission, int customers, Duration duration) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TacoCloudApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.forward-headers-strategy=native",
+                        "spring.datasource.name=load-admission-" + admission,
+                        "spring.datasource.hikari.maximum-pool-size=4",
+                        "spring.jpa.show-sql=false",
+                        "taco.admission.enabled=" + admission)
+                .run()) {
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort());
+            Result result = new Result(name, duration);
+
+            ExecutorService clients = Executors.newFixedThreadPool(customers);
+            long deadline = System.nanoTime() + duration.toNanos();
+            for (int i = 0; i < customers; i++) {
+                // Each client gets its own address, so the per-client token buckets see separate clients
+                String address = "10.0." + (i / 250) + "." + (i % 250 + 1);
+                clients.execute(() -> drive(baseUri, address, deadline, result));
+            }
+            clients.shutdown();
+            if (!clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+                clients.shutdownNow();
+            }
+            return result;
+        }
+    }
+
+    private static void drive(URI baseUri, String address, long deadline, Result result) {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            while (System.nanoTime() < deadline) {
+                if (post(client, baseUri.resolve("/design"), address, DESIGN_FORM, result)) {
+                    post(client, baseUri.resolve("/orders"), address, ORDER_FORM, result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return whether the request was served
+     */
+    private static boolean post(HttpClient client, URI uri, String address, String form, Result result)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Forwarded-For", address)
+                .timeout(Duration.ofSeconds(30))
+                .POST(BodyPublishers.ofString(form))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, BodyHandlers.discarding());
+        } catch (IOException e) {
+            result.errors.increment();
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        switch (response.statusCode()) {
+            case 302 -> {
+                result.served.recordValue(elapsed);
+                return true;
+            }
+            case 429, 503 -> {
+                (response.statusCode() == 429 ? result.rateLimited : result.shed).increment();
+                result.rejected.recordValue(elapsed);
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+                return false;
+            }
+            default -> {
+                result.errors.increment();
+                return false;
+            }
+        }
+    }
+
+    private static final class Result {
+        private final String name;
+        private final Duration duration;
+        private final Histogram served = new ConcurrentHistogram(3);
+        private final Histogram rejected = new ConcurrentHistogram(3);
+        private final LongAdder shed = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Result(String name, Duration duration) {
+            this.name = name;
+            this.duration = duration;
+        }
+
+        void print() {
+            System.out.printf("%n== %s: %.1f served/sec, %d served, %d shed (503), %d rate limited (429), "
+                            + "%d errors or timeouts%n", name, served.getTotalCount() / (double) duration.toSeconds(),
+                    served.getTotalCount(), shed.sum(), rateLimited.sum(), errors.sum());
+            System.out.printf("%-10s %10s %10s %10s %10s%n", "(ms)", "p50", "p90", "p99", "max");
+            printRow("served", served);
+            printRow("rejected", rejected);
+        }
+
+        private static void printRow(String label, Histogram histogram) {
+            System.out.printf("%-10s %10.1f %10.1f %10.1f %10.1f%n", label,
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6, histogram.getMaxValue() / 1e6);
+        }
+    }
+}
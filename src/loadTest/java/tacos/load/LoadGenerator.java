@@ -0,0 +1,51 @@
+package tacos.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.TacoCloudApplication;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts Taco Cloud on a random port with embedded H2, runs simulated customers through the design -> order journey
+ * and writes an HdrHistogram latency report per step. Application properties can be passed as program arguments,
+ * e.g. {@code --taco.threads.virtual=true}.
+ */
+public class LoadGenerator {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadProfile profile = LoadProfile.fromSystemProperties(100, 10);
+        Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+
+        LoadReport report;
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TacoCloudApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run(args)) {
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort());
+
+            // Warm up the JIT, connection pool and ingredient catalog before measuring
+            LoadRun.run("warm-up", baseUri, new LoadProfile(Math.min(profile.customers(), 20), 5,
+                    profile.tacosPerOrder(), profile.weights(), profile.thinkTime()));
+            report = LoadRun.run("load", baseUri, profile);
+        }
+
+        report.printSummary(System.out);
+
+        Files.createDirectories(reportDir);
+        Path reportFile = reportDir.resolve(
+                "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile))) {
+            out.printf("customers=%d ordersPerCustomer=%d thinkTime=%s%n",
+                    profile.customers(), profile.ordersPerCustomer(), profile.thinkTime());
+            report.printSummary(out);
+            report.printDistributions(out);
+        }
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+    }
+}
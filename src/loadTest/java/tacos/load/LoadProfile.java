@@ -0,0 +1,51 @@
+package tacos.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How many customers to simulate and how they behave.
+ *
+ * @param tacosPerOrder possible taco counts per order
+ * @param weights       relative likelihood of each entry in {@code tacosPerOrder}
+ */
+public record LoadProfile(int customers, int ordersPerCustomer, int[] tacosPerOrder, int[] weights,
+                          Duration thinkTime) {
+
+    /**
+     * Reads the profile from {@code load.*} system properties, e.g.
+     * {@code -Dload.customers=500 -Dload.tacoMix=1:60,3:30,12:10 -Dload.thinkTimeMs=250}.
+     */
+    public static LoadProfile fromSystemProperties(int defaultCustomers, int defaultOrdersPerCustomer) {
+        String[] mix = System.getProperty("load.tacoMix", "1:60,2:25,5:10,20:5").split(",");
+        int[] tacos = new int[mix.length];
+        int[] weights = new int[mix.length];
+        for (int i = 0; i < mix.length; i++) {
+            String[] entry = mix[i].trim().split(":");
+            tacos[i] = Integer.parseInt(entry[0]);
+            weights[i] = entry.length > 1 ? Integer.parseInt(entry[1]) : 1;
+        }
+
+        return new LoadProfile(
+                Integer.getInteger("load.customers", defaultCustomers),
+                Integer.getInteger("load.ordersPerCustomer", defaultOrdersPerCustomer),
+                tacos, weights,
+                Duration.ofMillis(Long.getLong("load.thinkTimeMs", 0)));
+    }
+
+    public int nextTacoCount() {
+        int totalWeight = 0;
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return tacosPerOrder[i];
+            }
+        }
+        return tacosPerOrder[tacosPerOrder.length - 1];
+    }
+}
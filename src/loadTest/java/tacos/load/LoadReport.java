@@ -0,0 +1,48 @@
+package tacos.load;
+
+import org.HdrHistogram.Histogram;
+import tacos.load.TacoCustomer.Step;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency histograms (in nanoseconds) per step and per complete design -> order flow.
+ */
+public record LoadReport(String name, Map<Step, Histogram> steps, Histogram orders, long failures, Duration elapsed) {
+
+    public double ordersPerSecond() {
+        return orders.getTotalCount() / (elapsed.toNanos() / 1e9);
+    }
+
+    public double p99Millis() {
+        return orders.getValueAtPercentile(99) / 1e6;
+    }
+
+    public void printSummary(PrintStream out) {
+        out.printf("%n== %s: %d orders (%d failed) in %.1fs, %.1f orders/sec%n",
+                name, orders.getTotalCount(), failures, elapsed.toMillis() / 1e3, ordersPerSecond());
+        out.printf("%-16s %10s %10s %10s %10s %10s%n", "step (ms)", "count", "p50", "p90", "p99", "max");
+        steps.forEach((step, histogram) -> printRow(out, step.toString(), histogram));
+        printRow(out, "ORDER_FLOW", orders);
+    }
+
+    /**
+     * Writes HdrHistogram percentile distributions, scaled to milliseconds, for plotting.
+     */
+    public void printDistributions(PrintStream out) {
+        steps.forEach((step, histogram) -> {
+            out.printf("%n# %s%n", step);
+            histogram.outputPercentileDistribution(out, 1e6);
+        });
+        out.printf("%n# ORDER_FLOW%n");
+        orders.outputPercentileDistribution(out, 1e6);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-16s %10d %10.1f %10.1f %10.1f %10.1f%n", label, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6, histogram.getMaxValue() / 1e6);
+    }
+}
@@ -0,0 +1,58 @@
+package tacos.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import tacos.load.TacoCustomer.Step;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@link LoadProfile#customers()} concurrent {@link TacoCustomer}s against a running application.
+ */
+public final class LoadRun {
+    private LoadRun() {
+    }
+
+    public static LoadReport run(String name, URI baseUri, LoadProfile profile) throws InterruptedException {
+        Map<Step, Histogram> steps = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            steps.put(step, new ConcurrentHistogram(3));
+        }
+        Histogram orders = new ConcurrentHistogram(3);
+        AtomicLong failures = new AtomicLong();
+
+        ExecutorService customers = Executors.newFixedThreadPool(profile.customers());
+        long start = System.nanoTime();
+        for (int i = 0; i < profile.customers(); i++) {
+            customers.execute(() -> {
+                TacoCustomer customer = new TacoCustomer(baseUri);
+                for (int order = 0; order < profile.ordersPerCustomer(); order++) {
+                    long orderStart = System.nanoTime();
+                    try {
+                        customer.placeOrder(profile.nextTacoCount(), profile.thinkTime(),
+                                (step, nanos) -> steps.get(step).recordValue(nanos));
+                        orders.recordValue(System.nanoTime() - orderStart);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        customers.shutdown();
+        if (!customers.awaitTermination(1, TimeUnit.HOURS)) {
+            customers.shutdownNow();
+        }
+
+        return new LoadReport(name, steps, orders, failures.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+}
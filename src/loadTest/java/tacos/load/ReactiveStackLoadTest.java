@@ -0,0 +1,99 @@
+package tacos.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.TacoCloudApplication;
+import tacos.load.TacoCustomer.Step;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares JSON order submission on the servlet stack (Tomcat, JPA) against the reactive profile (Netty, R2DBC) with
+ * the same number of orders in flight at once. Run with
+ * {@code gradle loadTest --tests '*ReactiveStackLoadTest' -Pload.inFlight=2000}.
+ */
+class ReactiveStackLoadTest {
+    private static final String ORDER = """
+            {"deliveryName": "Load Customer", "deliveryStreet": "1234 Test Lane", "deliveryCity": "Testville",
+             "deliveryState": "CA", "deliveryZip": "70123",
+             "ccNumber": "4111111111111111", "ccExpiration": "10/23", "ccCvv": "123",
+             "tacos": [{"name": "Load Taco 1", "ingredients": ["FLTO", "GRBF", "CHED", "TMTO", "SLSA"]},
+                       {"name": "Load Taco 2", "ingredients": ["COTO", "CARN", "JACK", "LETC", "SRCR"]}]}""";
+
+    @Test
+    void compareServletAndReactiveStacks() throws Exception {
+        int inFlight = Integer.getInteger("load.inFlight", 500);
+        int orders = Integer.getInteger("load.orders", 20_000);
+
+        LoadReport servlet = run("servlet", inFlight, orders,
+                "spring.datasource.name=load-servlet");
+        LoadReport reactive = run("reactive", inFlight, orders,
+                "spring.profiles.active=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///load-reactive?options=DB_CLOSE_DELAY=-1");
+
+        System.out.printf("%n%d orders, %d in flight, %d cores%n",
+                orders, inFlight, Runtime.getRuntime().availableProcessors());
+        servlet.printSummary(System.out);
+        reactive.printSummary(System.out);
+
+        assertThat(servlet.failures()).isZero();
+        assertThat(reactive.failures()).isZero();
+    }
+
+    private LoadReport run(String name, int inFlight, int orders, String... properties) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TacoCloudApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .properties(properties)
+                .run()) {
+            URI ordersUri = URI.create(
+                    "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort() + "/api/orders");
+            return submit(name, ordersUri, inFlight, orders);
+        }
+    }
+
+    private static LoadReport submit(String name, URI ordersUri, int inFlight, int orders)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+                .build();
+
+        Histogram latencies = new ConcurrentHistogram(3);
+        AtomicLong failures = new AtomicLong();
+        Semaphore permits = new Semaphore(inFlight);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            permits.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure == null && response.statusCode() == 201) {
+                            latencies.recordValue(System.nanoTime() - sent);
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                        permits.release();
+                    });
+        }
+        permits.acquire(inFlight);
+
+        return new LoadReport(name, new EnumMap<>(Step.class), latencies, failures.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,238 @@
+package tacos.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tacos.Recipe;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same synthetic orders into the old one-row-per-taco-ingredient layout and into the recipe layout, and
+ * reports rows, bytes and insert throughput per order. Plain JDBC batches against file-backed H2, so the numbers
+ * reflect the table layout rather than JPA. Run with {@code gradle loadTest --tests '*RecipeStorageLoadTest'
+ * -Pload.orders=1000000}.
+ */
+class RecipeStorageLoadTest {
+    private static final String[] INGREDIENTS =
+            {"FLTO", "COTO", "GRBF", "CARN", "TMTO", "LETC", "CHED", "JACK", "SLSA", "SRCR"};
+
+    // The dozen combinations most tacos are made of
+    private static final String[][] POPULAR = {
+            {"FLTO", "GRBF", "CHED", "LETC", "SLSA"}, {"COTO", "CARN", "JACK", "TMTO", "SRCR"},
+            {"FLTO", "CARN", "CHED", "SLSA"}, {"COTO", "GRBF", "JACK", "LETC"}, {"FLTO", "GRBF", "CHED"},
+            {"COTO", "CARN", "SLSA"}, {"FLTO", "GRBF", "LETC", "TMTO", "CHED", "SRCR"},
+            {"COTO", "GRBF", "CHED", "SLSA"}, {"FLTO", "CARN", "JACK", "LETC", "SRCR"},
+            {"COTO", "CARN", "CHED", "TMTO"}, {"FLTO", "GRBF", "JACK", "SLSA", "SRCR"}, {"COTO", "LETC", "TMTO"}};
+
+    private static final int ORDERS_PER_TRANSACTION = 1000;
+
+    private static final String COMMON_SCHEMA = """
+            create table Ingredient (id varchar(4) primary key, name varchar(25) not null, type varchar(10) not null);
+            create table Taco_Order (
+                id bigint primary key, delivery_name varchar(50) not null, delivery_street varchar(50) not null,
+                delivery_city varchar(50) not null, delivery_state varchar(2) not null,
+                delivery_zip varchar(10) not null, cc_number varchar(16) not null, cc_expiration varchar(5) not null,
+                cc_cvv varchar(3) not null, placed_at timestamp not null);
+            create table Taco_Order_Tacos (taco_order_id bigint not null references Taco_Order(id),
+                tacos_id bigint not null);
+            create index Taco_Order_Tacos_Order on Taco_Order_Tacos (taco_order_id, tacos_id);
+            """;
+
+    private static final String PER_TACO_SCHEMA = COMMON_SCHEMA + """
+            create table Taco (id bigint primary key, name varchar(50) not null, created_at timestamp not null);
+            create table Taco_Ingredients (taco_id bigint not null references Taco(id),
+                ingredients_id varchar(4) not null references Ingredient(id));
+            create index Taco_Ingredients_Taco on Taco_Ingredients (taco_id, ingredients_id);
+            """;
+
+    private static final String RECIPE_SCHEMA = COMMON_SCHEMA + """
+            create table Recipe (id bigint primary key, ingredient_key varchar(255) not null unique);
+            create table Recipe_Ingredients (recipe_id bigint not null references Recipe(id),
+                ingredients_id varchar(4) not null references Ingredient(id));
+            create index Recipe_Ingredients_Recipe on Recipe_Ingredients (recipe_id, ingredients_id);
+            create table Taco (id bigint primary key, name varchar(50) not null, created_at timestamp not null,
+                recipe_id bigint not null references Recipe(id), ingredient_order varchar(255));
+            """;
+
+    @TempDir
+    static Path databaseDir;
+
+    @Test
+    void compareStorageWithAndWithoutRecipes() throws Exception {
+        int orders = Integer.getInteger("load.orders", 1_000_000);
+
+        StorageReport perTaco = insert("per-taco ingredients", PER_TACO_SCHEMA, orders, false);
+        StorageReport recipes = insert("shared recipes", RECIPE_SCHEMA, orders, true);
+
+        System.out.printf("%n%d orders, %.2f tacos per order%n", orders, perTaco.tacos / (double) orders);
+        perTaco.print(orders);
+        recipes.print(orders);
+        System.out.printf("%nRecipes: %.1f%% fewer rows and %.1f%% fewer bytes per order, %.2fx insert throughput%n",
+                100 * (1 - recipes.totalRows() / (double) perTaco.totalRows()),
+                100 * (1 - recipes.fileBytes / (double) perTaco.fileBytes),
+                recipes.ordersPerSecond(orders) / perTaco.ordersPerSecond(orders));
+
+        assertThat(recipes.totalRows()).isLessThan(perTaco.totalRows());
+    }
+
+    private StorageReport insert(String name, String schema, int orders, boolean internRecipes)
+            throws SQLException, IOException {
+        Path file = databaseDir.resolve(internRecipes ? "recipes" : "per-taco");
+        String url = "jdbc:h2:file:" + file + ";CACHE_SIZE=65536";
+        Map<String, Long> tables = new LinkedHashMap<>();
+        long tacos = 0;
+        Duration elapsed;
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(schema);
+                for (String id : INGREDIENTS) {
+                    statement.execute("insert into Ingredient values ('" + id + "', '" + id + "', 'WRAP')");
+                }
+            }
+            connection.setAutoCommit(false);
+
+            SplittableRandom random = new SplittableRandom(42);
+            Map<String, Long> recipeIds = new HashMap<>();
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            long start = System.nanoTime();
+
+            try (PreparedStatement order = connection.prepareStatement(
+                         "insert into Taco_Order values (?, 'Load Customer', '1234 Test Lane', 'Testville', 'CA', "
+                                 + "'70123', '4111111111111111', '10/23', '123', ?)");
+                 PreparedStatement orderTaco = connection.prepareStatement("insert into Taco_Order_Tacos values (?, ?)");
+                 PreparedStatement taco = connection.prepareStatement(internRecipes
+                         ? "insert into Taco values (?, ?, ?, ?, ?)"
+                         : "insert into Taco values (?, ?, ?)");
+                 PreparedStatement tacoIngredient = connection.prepareStatement("insert into Taco_Ingredients values (?, ?)");
+                 PreparedStatement recipe = connection.prepareStatement("insert into Recipe values (?, ?)");
+                 PreparedStatement recipeIngredient =
+                         connection.prepareStatement("insert into Recipe_Ingredients values (?, ?)")) {
+                for (long orderId = 1; orderId <= orders; orderId++) {
+                    order.setLong(1, orderId);
+                    order.setTimestamp(2, now);
+                    order.addBatch();
+
+                    int tacoCount = tacoCount(random);
+                    for (int i = 0; i < tacoCount; i++) {
+                        long tacoId = ++tacos;
+                        String[] ingredients = ingredients(random);
+                        taco.setLong(1, tacoId);
+                        taco.setString(2, "Taco " + tacoId);
+                        taco.setTimestamp(3, now);
+                        if (internRecipes) {
+                            String key = String.join(",", new TreeSet<>(List.of(ingredients)));
+                            Long recipeId = recipeIds.get(key);
+                            if (recipeId == null) {
+                                recipeId = recipeIds.size() + 1L;
+                                recipeIds.put(key, recipeId);
+                                recipe.setLong(1, recipeId);
+                                recipe.setString(2, key);
+                                recipe.executeUpdate();
+                                for (String ingredient : key.split(",")) {
+                                    recipeIngredient.setLong(1, recipeId);
+                                    recipeIngredient.setString(2, ingredient);
+                                    recipeIngredient.executeUpdate();
+                                }
+                            }
+                            taco.setLong(4, recipeId);
+                            taco.setString(5, Recipe.pickOrderOf(List.of(ingredients)));
+                        } else {
+                            for (String ingredient : ingredients) {
+                                tacoIngredient.setLong(1, tacoId);
+                                tacoIngredient.setString(2, ingredient);
+                                tacoIngredient.addBatch();
+                            }
+                        }
+                        taco.addBatch();
+                        orderTaco.setLong(1, orderId);
+                        orderTaco.setLong(2, tacoId);
+                        orderTaco.addBatch();
+                    }
+
+                    if (orderId % ORDERS_PER_TRANSACTION == 0 || orderId == orders) {
+                        order.executeBatch();
+                        taco.executeBatch();
+                        if (!internRecipes) {
+                            tacoIngredient.executeBatch();
+                        }
+                        orderTaco.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            connection.setAutoCommit(true);
+            List<String> tableNames = new ArrayList<>(List.of("TACO_ORDER", "TACO", "TACO_ORDER_TACOS"));
+            tableNames.addAll(internRecipes ? List.of("RECIPE", "RECIPE_INGREDIENTS") : List.of("TACO_INGREDIENTS"));
+            try (Statement statement = connection.createStatement()) {
+                for (String table : tableNames) {
+                    try (ResultSet rows = statement.executeQuery("select count(*) from " + table)) {
+                        rows.next();
+                        tables.put(table, rows.getLong(1));
+                    }
+                }
+                statement.execute("shutdown compact");
+            }
+        }
+
+        long fileBytes = Files.size(Path.of(file + ".mv.db"));
+        return new StorageReport(name, tables, tacos, fileBytes, elapsed);
+    }
+
+    private static int tacoCount(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 50 ? 1 : roll < 85 ? 2 : 3;
+    }
+
+    private static String[] ingredients(SplittableRandom random) {
+        if (random.nextInt(100) < 90) {
+            return POPULAR[random.nextInt(POPULAR.length)];
+        }
+        // The long tail: anything from three to six ingredients
+        List<String> shuffled = new ArrayList<>(List.of(INGREDIENTS));
+        for (int i = shuffled.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            shuffled.set(i, shuffled.set(j, shuffled.get(i)));
+        }
+        return shuffled.subList(0, 3 + random.nextInt(4)).toArray(String[]::new);
+    }
+
+    private record StorageReport(String name, Map<String, Long> tables, long tacos, long fileBytes,
+                                 Duration elapsed) {
+        long totalRows() {
+            return tables.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double ordersPerSecond(int orders) {
+            return orders / (elapsed.toNanos() / 1e9);
+        }
+
+        void print(int orders) {
+            System.out.printf("%n== %s: %.0f orders/sec, %.2f rows and %.0f bytes per order%n",
+                    name, ordersPerSecond(orders), totalRows() / (double) orders, fileBytes / (double) orders);
+            tables.forEach((table, rows) -> System.out.printf("%-20s %12d rows %8.2f per order%n",
+                    table, rows, rows / (double) orders));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package tacos.load;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts Taco Cloud in a fresh JVM over and over in each startup mode and measures the time from launching the
+ * process to the first successful GET /design, which is when an autoscaled node can take traffic. Runs through the
+ * startupBenchmark task, which builds the jar and CDS archive the modes need; application output goes to
+ * {@code build/reports/load/startup-*.log}.
+ */
+public class StartupBenchmark {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private record Mode(String name, List<String> jvmArgs, List<String> args) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = Integer.getInteger("load.startupRuns", 5);
+        String classpath = System.getProperty("load.startupClasspath");
+        Path cdsArchive = Path.of(System.getProperty("load.cdsArchive", "build/cds/taco-cloud.jsa"));
+        Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+        if (classpath == null) {
+            throw new IllegalStateException("load.startupClasspath is not set; run through gradle startupBenchmark");
+        }
+        Files.createDirectories(reportDir);
+
+        List<String> fastStartup = List.of("--spring.profiles.active=fast-startup");
+        List<Mode> modes = new ArrayList<>(List.of(
+                new Mode("default", List.of(), List.of()),
+                new Mode("fast-startup", List.of(), fastStartup),
+                new Mode("fast-startup + AOT", List.of("-Dspring.aot.enabled=true"), fastStartup)));
+        if (Files.exists(cdsArchive)) {
+            modes.add(new Mode("fast-startup + AOT + CDS",
+                    List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + cdsArchive), fastStartup));
+        } else {
+            System.out.println("No CDS archive at " + cdsArchive + ", skipping the CDS mode");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        List<long[]> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            Path log = reportDir.resolve("startup-" + mode.name().replaceAll("[^a-zA-Z]+", "-") + ".log");
+            Files.deleteIfExists(log);
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstPage(client, classpath, mode, log);
+                System.out.printf("%-26s run %d: %5d ms%n", mode.name(), run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            results.add(millis);
+        }
+
+        System.out.printf("%nTime to first successful GET /design over %d runs%n", runs);
+        System.out.printf("%-26s %8s %8s %8s%n", "mode", "min", "median", "max");
+        for (int i = 0; i < modes.size(); i++) {
+            long[] millis = results.get(i);
+            System.out.printf("%-26s %6d ms %6d ms %6d ms%n",
+                    modes.get(i).name(), millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+        }
+    }
+
+    private static long timeToFirstPage(HttpClient client, String classpath, Mode mode, Path log)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of("-cp", classpath, "tacos.TacoCloudApplication", "--server.port=" + port));
+        command.addAll(mode.args());
+
+        HttpRequest design = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/design"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!app.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + app.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(design, BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode.name() + " did not serve /design within " + STARTUP_TIMEOUT
+                    + ", see " + log);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
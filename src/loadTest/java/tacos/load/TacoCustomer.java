@@ -0,0 +1,96 @@
+package tacos.load;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A simulated customer walking through the design -> order journey. Like a browser, it keeps its own cookies, so the
+ * tacos it designs end up in its own session's order.
+ */
+public class TacoCustomer {
+    public enum Step {
+        SHOW_DESIGN, PROCESS_DESIGN, SHOW_ORDER, PROCESS_ORDER
+    }
+
+    @FunctionalInterface
+    public interface StepListener {
+        void stepCompleted(Step step, long nanos);
+    }
+
+    private static final List<String> RECIPES = List.of(
+            "ingredients=FLTO&ingredients=GRBF&ingredients=CHED&ingredients=TMTO&ingredients=SLSA",
+            "ingredients=COTO&ingredients=CARN&ingredients=JACK&ingredients=LETC&ingredients=SRCR",
+            "ingredients=FLTO&ingredients=CARN&ingredients=CHED&ingredients=SLSA",
+            "ingredients=COTO&ingredients=GRBF&ingredients=JACK");
+
+    private static final String ORDER_FORM = "deliveryName=Iam+Hungry&deliveryStreet=1000+Food+Blvd."
+            + "&deliveryCity=Foodsville&deliveryState=CA&deliveryZip=90011"
+            + "&ccNumber=4111111111111111&ccExpiration=12%2F29&ccCvv=123";
+
+    private final URI baseUri;
+    private final HttpClient client;
+
+    public TacoCustomer(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Designs the given number of tacos, pausing for the think time between pages, then places the order.
+     */
+    public void placeOrder(int tacos, Duration thinkTime, StepListener listener)
+            throws IOException, InterruptedException {
+        for (int i = 0; i < tacos; i++) {
+            send(Step.SHOW_DESIGN, get("/design"), 200, listener);
+            think(thinkTime);
+
+            String recipe = RECIPES.get(ThreadLocalRandom.current().nextInt(RECIPES.size()));
+            send(Step.PROCESS_DESIGN, post("/design", "name=Load+Taco+" + i + "&" + recipe), 302, listener);
+        }
+
+        send(Step.SHOW_ORDER, get("/orders/current"), 200, listener);
+        think(thinkTime);
+        send(Step.PROCESS_ORDER, post("/orders", ORDER_FORM), 302, listener);
+    }
+
+    private void send(Step step, HttpRequest request, int expectedStatus, StepListener listener)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        int status = client.send(request, BodyHandlers.discarding()).statusCode();
+        long elapsed = System.nanoTime() - start;
+
+        if (status != expectedStatus) {
+            throw new IllegalStateException(step + " answered " + status + " instead of " + expectedStatus);
+        }
+        listener.stepCompleted(step, elapsed);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private static void think(Duration thinkTime) throws InterruptedException {
+        if (!thinkTime.isZero()) {
+            Thread.sleep(thinkTime.toMillis());
+        }
+    }
+}
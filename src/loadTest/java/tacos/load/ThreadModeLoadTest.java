@@ -0,0 +1,44 @@
+package tacos.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tacos.TacoCloudApplication;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the design -> order flow on Tomcat's platform thread pool against virtual threads behind the data source
+ * bulkhead. Run with {@code gradle loadTest -Pload.customers=1000}.
+ */
+class ThreadModeLoadTest {
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties(400, 5);
+
+        LoadReport platform = run("platform", false, profile);
+        LoadReport virtual = run("virtual", true, profile);
+
+        platform.printSummary(System.out);
+        virtual.printSummary(System.out);
+
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private LoadReport run(String mode, boolean virtualThreads, LoadProfile profile) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TacoCloudApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.name=load-" + mode,
+                        "spring.jpa.show-sql=false",
+                        "taco.threads.virtual=" + virtualThreads)
+                .run()) {
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort());
+            return LoadRun.run(mode, baseUri, profile);
+        }
+    }
+}
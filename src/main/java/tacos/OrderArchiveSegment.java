@@ -0,0 +1,27 @@
+package tacos;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * An order archive segment file whose orders have been deleted from the database. It is saved in the same transaction
+ * as the delete, so on startup a segment file still being written tells whether the delete committed.
+ */
+@Data
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class OrderArchiveSegment {
+    @Id
+    private String fileName;
+
+    private int orderCount;
+
+    private Date archivedAt;
+}
@@ -0,0 +1,29 @@
+package tacos;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How far the order journal has been applied: the sequence of the last journal entry whose order is in the database.
+ * It is saved in the same transaction as the orders, so it can never claim an entry whose order was rolled back.
+ */
+@Data
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class OrderJournalCheckpoint {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private long appliedSequence;
+
+    public OrderJournalCheckpoint(long appliedSequence) {
+        this(ID, appliedSequence);
+    }
+}
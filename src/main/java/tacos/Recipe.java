@@ -0,0 +1,99 @@
+package tacos;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A combination of ingredients, stored once and shared by every taco made of it. The ingredient key is the
+ * ingredient ids in sorted order, so the same ingredients picked in any order make the same recipe; each taco keeps
+ * the order its ingredients were picked in, see {@link #pickOrderOf}.
+ */
+@Getter
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Recipe {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "Recipe_Seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String ingredientKey;
+
+    @ManyToMany
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+    private List<Ingredient> ingredients = new ArrayList<>();
+
+    public Recipe(Collection<Ingredient> ingredients) {
+        this.ingredients = new ArrayList<>(ingredients);
+        this.ingredients.sort(Comparator.comparing(Ingredient::getId));
+        this.ingredientKey = keyOf(this.ingredients.stream().map(Ingredient::getId).toList());
+    }
+
+    public static String keyOf(Collection<String> ingredientIds) {
+        return ingredientIds.stream().sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * Where each picked ingredient sits among the recipe's sorted ingredients, in the order they were picked: picking
+     * {@code SLSA,FLTO,GRBF} gives {@code "2,0,1"}. Returns {@code null} when they were picked in sorted order, as
+     * ingredients picked from the design page always are.
+     */
+    public static String pickOrderOf(List<String> pickedIds) {
+        Integer[] bySortedPosition = new Integer[pickedIds.size()];
+        for (int i = 0; i < bySortedPosition.length; i++) {
+            bySortedPosition[i] = i;
+        }
+        // Stable, so repeats of an ingredient keep their relative order
+        Arrays.sort(bySortedPosition, Comparator.comparing(pickedIds::get));
+
+        int[] sortedPosition = new int[bySortedPosition.length];
+        boolean sorted = true;
+        for (int position = 0; position < bySortedPosition.length; position++) {
+            sortedPosition[bySortedPosition[position]] = position;
+            sorted &= bySortedPosition[position] == position;
+        }
+        if (sorted) {
+            return null;
+        }
+        return Arrays.stream(sortedPosition).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Puts a recipe's sorted ingredients (or their ids) back in the order given by {@link #pickOrderOf}.
+     */
+    public static <T> List<T> inPickOrder(List<T> sorted, String pickOrder) {
+        if (pickOrder == null) {
+            return sorted;
+        }
+        String[] positions = pickOrder.split(",");
+        if (positions.length != sorted.size()) {
+            throw new IllegalArgumentException("Pick order " + pickOrder + " does not fit " + sorted.size()
+                    + " ingredients");
+        }
+        List<T> picked = new ArrayList<>(positions.length);
+        for (String position : positions) {
+            picked.add(sorted.get(Integer.parseInt(position)));
+        }
+        return picked;
+    }
+
+    @Override
+    public String toString() {
+        return "Recipe(id=" + id + ", ingredientKey=" + ingredientKey + ")";
+    }
+}
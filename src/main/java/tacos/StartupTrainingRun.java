@@ -0,0 +1,58 @@
+package tacos;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+/**
+ * Lets the cdsArchive task record the classes a node needs to serve its first page: once the application is ready it
+ * requests GET /design from itself and exits, and the JVM writes everything it loaded to the class-data sharing
+ * archive.
+ * <p>
+ * The property is read at runtime rather than through a condition, so the bean also exists in AOT-processed builds.
+ */
+@Slf4j
+@Component
+public class StartupTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+    private final boolean enabled;
+
+    public StartupTrainingRun(@Value("${taco.startup.training-run:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext webContext)) {
+            return;
+        }
+
+        int status;
+        try {
+            URI design = URI.create("http://localhost:" + webContext.getWebServer().getPort() + "/design");
+            status = HttpClient.newHttpClient()
+                    .send(HttpRequest.newBuilder(design).build(), BodyHandlers.discarding())
+                    .statusCode();
+            log.info("Training run: GET /design answered {}", status);
+        } catch (IOException e) {
+            log.error("Training run: GET /design failed", e);
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+
+        int exitCode = status == 200 ? 0 : 1;
+        System.exit(SpringApplication.exit((ConfigurableApplicationContext) webContext, () -> exitCode));
+    }
+}
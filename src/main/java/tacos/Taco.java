@@ -4,16 +4,22 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import tacos.data.RecipeListener;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 @Data
 @Entity
+@EntityListeners(RecipeListener.class)
 public class Taco {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "taco_seq")
+    @SequenceGenerator(name = "taco_seq", sequenceName = "Taco_Seq", allocationSize = 50)
     private Long id;
 
     private Date createdAt;
@@ -22,11 +28,53 @@ public class Taco {
     @Size(min = 5, message = "Name must be at lease 5 characters long")
     private String name;
 
-    @ManyToMany
+    /**
+     * Shared with every other taco made of the same ingredients; assigned when the taco is first saved.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Recipe recipe;
+
+    /**
+     * The order the ingredients were picked in, as positions in the recipe's sorted ingredients, or {@code null} when
+     * that is the recipe's own order; see {@link Recipe#pickOrderOf}.
+     */
+    private String ingredientOrder;
+
+    @Transient
     @Size(min = 1, message = "You must choose at least 1 ingredient")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Ingredient> ingredients = new ArrayList<>();
 
+    /**
+     * The ingredients picked for this taco or, once it has been saved and loaded again, those of its recipe in the
+     * order they were picked. Reading a loaded taco's ingredients initializes its recipe.
+     */
+    public List<Ingredient> getIngredients() {
+        if (ingredients.isEmpty() && recipe != null) {
+            return Collections.unmodifiableList(Recipe.inPickOrder(recipe.getIngredients(), ingredientOrder));
+        }
+        return ingredients;
+    }
+
+    /**
+     * Replaces the ingredients. On a taco that already has a recipe this drops it, so that a new one is assigned when
+     * the taco is next flushed.
+     */
+    public void setIngredients(List<Ingredient> ingredients) {
+        this.ingredients = ingredients;
+        if (recipe != null) {
+            recipe = null;
+            ingredientOrder = null;
+        }
+    }
+
     public void addIngredient(Ingredient ingredient) {
+        if (recipe != null) {
+            setIngredients(new ArrayList<>(getIngredients()));
+        }
         this.ingredients.add(ingredient);
     }
 
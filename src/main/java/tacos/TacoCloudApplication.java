@@ -4,9 +4,12 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 import tacos.Ingredient.Type;
 import tacos.data.IngredientRepository;
 
+import java.util.List;
+
 @SpringBootApplication
 public class TacoCloudApplication {
 
@@ -16,20 +19,20 @@ public class TacoCloudApplication {
 
 	// List of ingredients to be persisted when spring.jpa.hibernate.ddl-auto=create-drop
 	// Below bean has to be removed/commented if spring.jpa.hibernate.ddl-auto=none (data from data.sql is inserted
-	// instead).
+	// instead). The reactive and fast-startup profiles always use data.sql.
 	@Bean
+	@Profile("!reactive & !fast-startup")
 	public CommandLineRunner dataLoader(IngredientRepository ingredientRepo) {
-		return args -> {
-			ingredientRepo.save(new Ingredient("FLTO", "Flour Tortilla", Type.WRAP));
-			ingredientRepo.save(new Ingredient("COTO", "Corn Tortilla", Type.WRAP));
-			ingredientRepo.save(new Ingredient("GRBF", "Ground Beef", Type.PROTEIN));
-			ingredientRepo.save(new Ingredient("CARN", "Carnitas", Type.PROTEIN));
-			ingredientRepo.save(new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES));
-			ingredientRepo.save(new Ingredient("LETC", "Lettuce", Type.VEGGIES));
-			ingredientRepo.save(new Ingredient("CHED", "Cheddar", Type.CHEESE));
-			ingredientRepo.save(new Ingredient("JACK", "Monterrey Jack", Type.CHEESE));
-			ingredientRepo.save(new Ingredient("SLSA", "Salsa", Type.SAUCE));
-			ingredientRepo.save(new Ingredient("SRCR", "Sour Cream", Type.SAUCE));
-		};
+		return args -> ingredientRepo.saveAll(List.of(
+				new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+				new Ingredient("COTO", "Corn Tortilla", Type.WRAP),
+				new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+				new Ingredient("CARN", "Carnitas", Type.PROTEIN),
+				new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES),
+				new Ingredient("LETC", "Lettuce", Type.VEGGIES),
+				new Ingredient("CHED", "Cheddar", Type.CHEESE),
+				new Ingredient("JACK", "Monterrey Jack", Type.CHEESE),
+				new Ingredient("SLSA", "Salsa", Type.SAUCE),
+				new Ingredient("SRCR", "Sour Cream", Type.SAUCE)));
 	}
 }
@@ -5,7 +5,9 @@ import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import lombok.ToString;
 import org.hibernate.validator.constraints.CreditCardNumber;
+import tacos.kitchen.KitchenFeedListener;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -13,9 +15,12 @@ import java.util.List;
 
 @Data
 @Entity
+@Table(indexes = @Index(name = "Taco_Order_Placed_At", columnList = "placedAt desc, id desc"))
+@EntityListeners(KitchenFeedListener.class)
 public class TacoOrder {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "taco_order_seq")
+    @SequenceGenerator(name = "taco_order_seq", sequenceName = "Taco_Order_Seq", allocationSize = 50)
     private Long id;
 
     private Date placedAt;
@@ -36,13 +41,17 @@ public class TacoOrder {
     private String deliveryZip;
 
     // Example Valid CC Number: 4111111111111111
+    // The card fields are left out of toString() so that they never end up in logs
     @CreditCardNumber(message = "Not a valid credit card number")
+    @ToString.Exclude
     private String ccNumber;
 
     @Pattern(regexp = "^(0[1-9]|1[0-2])([\\/])([1-9][0-9])$", message = "Must be formatted MM/YY")
+    @ToString.Exclude
     private String ccExpiration;
 
     @Digits(integer = 3, fraction = 0, message = "Invalid CVV")
+    @ToString.Exclude
     private String ccCvv;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
@@ -52,8 +61,11 @@ public class TacoOrder {
         this.tacos.add(taco);
     }
 
+    // Orders replayed from the order journal keep the time they were placed, not the time they were saved
     @PrePersist
     private void placedAt() {
-        this.placedAt = new Date();
+        if (this.placedAt == null) {
+            this.placedAt = new Date();
+        }
     }
 }
@@ -0,0 +1,133 @@
+package tacos.analytics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory counts of how many ordered tacos used each ingredient, and each ingredient type, over the last minute,
+ * 15 minutes and day, so the kitchen can see what is hot without aggregate queries against the order tables.
+ * <p>
+ * Recording an order only increments {@link SlidingWindowCounter}s; there are no locks on the way, so order
+ * submission does not slow down however many orders are placed at once. Counts are per node and start from zero
+ * when the application starts.
+ */
+@Component
+public class IngredientPopularity {
+    private final Clock clock;
+    private final ConcurrentMap<String, Counters> byIngredient = new ConcurrentHashMap<>();
+    private final Map<Type, Counters> byType = new EnumMap<>(Type.class);
+
+    public IngredientPopularity() {
+        this(Clock.systemUTC());
+    }
+
+    IngredientPopularity(Clock clock) {
+        this.clock = clock;
+        for (Type type : Type.values()) {
+            byType.put(type, new Counters(type));
+        }
+    }
+
+    /**
+     * Counts the order's tacos once the transaction saving it has committed, or straight away outside a transaction.
+     */
+    public void recordOrder(TacoOrder order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(order);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(order);
+            }
+        });
+    }
+
+    private void record(TacoOrder order) {
+        long now = clock.millis();
+        for (Taco taco : order.getTacos()) {
+            for (Ingredient ingredient : taco.getIngredients()) {
+                record(ingredient.getId(), ingredient.getType(), now);
+            }
+        }
+    }
+
+    void record(String ingredientId, Type type, long nowMillis) {
+        Counters counters = byIngredient.get(ingredientId);
+        if (counters == null) {
+            counters = byIngredient.computeIfAbsent(ingredientId, id -> new Counters(type));
+        }
+        counters.increment(nowMillis);
+        byType.get(type).increment(nowMillis);
+    }
+
+    /**
+     * The {@code limit} most used ingredients in the window, most used first. Ingredients not used in the window are
+     * left out.
+     */
+    public List<IngredientCount> top(PopularityWindow window, int limit) {
+        long now = clock.millis();
+        List<IngredientCount> counts = new ArrayList<>();
+        byIngredient.forEach((id, counters) -> {
+            long count = counters.sum(window, now);
+            if (count > 0) {
+                counts.add(new IngredientCount(id, counters.type, count));
+            }
+        });
+        counts.sort(Comparator.comparingLong(IngredientCount::count).reversed()
+                .thenComparing(IngredientCount::id));
+        return counts.size() > limit ? List.copyOf(counts.subList(0, limit)) : counts;
+    }
+
+    /**
+     * How many ingredients of each type went into tacos in the window.
+     */
+    public Map<Type, Long> byType(PopularityWindow window) {
+        long now = clock.millis();
+        Map<Type, Long> counts = new EnumMap<>(Type.class);
+        byType.forEach((type, counters) -> counts.put(type, counters.sum(window, now)));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public record IngredientCount(String id, Type type, long count) {
+    }
+
+    private static final class Counters {
+        private final Type type;
+        private final SlidingWindowCounter[] windows = new SlidingWindowCounter[PopularityWindow.values().length];
+
+        Counters(Type type) {
+            this.type = type;
+            for (PopularityWindow window : PopularityWindow.values()) {
+                windows[window.ordinal()] = new SlidingWindowCounter(window);
+            }
+        }
+
+        void increment(long nowMillis) {
+            for (SlidingWindowCounter window : windows) {
+                window.increment(nowMillis);
+            }
+        }
+
+        long sum(PopularityWindow window, long nowMillis) {
+            return windows[window.ordinal()].sum(nowMillis);
+        }
+    }
+}
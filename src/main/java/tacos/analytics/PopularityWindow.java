@@ -0,0 +1,49 @@
+package tacos.analytics;
+
+import java.time.Duration;
+
+/**
+ * The sliding windows ingredient popularity is counted over. Each is split into buckets that expire one at a time,
+ * so a window covers between {@code length - bucket} and {@code length} of history.
+ */
+public enum PopularityWindow {
+    ONE_MINUTE("1m", Duration.ofSeconds(5), 12),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(1), 15),
+    ONE_DAY("24h", Duration.ofHours(1), 24);
+
+    private final String key;
+    private final long bucketMillis;
+    private final int buckets;
+
+    PopularityWindow(String key, Duration bucket, int buckets) {
+        this.key = key;
+        this.bucketMillis = bucket.toMillis();
+        this.buckets = buckets;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Looks a window up by its key, e.g. {@code 15m}.
+     *
+     * @throws IllegalArgumentException if there is no such window
+     */
+    public static PopularityWindow of(String key) {
+        for (PopularityWindow window : values()) {
+            if (window.key.equals(key)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Unknown popularity window: " + key);
+    }
+}
@@ -0,0 +1,57 @@
+package tacos.analytics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events over a {@link PopularityWindow} in a ring of time buckets, each a {@link LongAdder} so that
+ * concurrent increments land on separate cells instead of contending for one. A bucket is swapped for a fresh one,
+ * with a single CAS, the first time it is used in a new period; an increment that raced the swap lands in the old
+ * period's bucket, which is what it would have counted towards anyway.
+ */
+final class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    SlidingWindowCounter(PopularityWindow window) {
+        this.bucketMillis = window.getBucketMillis();
+        this.buckets = new AtomicReferenceArray<>(window.getBuckets());
+    }
+
+    void increment(long nowMillis) {
+        long period = nowMillis / bucketMillis;
+        int index = (int) (period % buckets.length());
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.period < period) {
+            Bucket fresh = new Bucket(period);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+                break;
+            }
+            bucket = buckets.get(index);
+        }
+        bucket.count.increment();
+    }
+
+    long sum(long nowMillis) {
+        long period = nowMillis / bucketMillis;
+        long oldest = period - buckets.length() + 1;
+        long sum = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.period >= oldest && bucket.period <= period) {
+                sum += bucket.count.sum();
+            }
+        }
+        return sum;
+    }
+
+    private static final class Bucket {
+        private final long period;
+        private final LongAdder count = new LongAdder();
+
+        Bucket(long period) {
+            this.period = period;
+        }
+    }
+}
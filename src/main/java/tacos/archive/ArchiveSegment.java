@@ -0,0 +1,336 @@
+package tacos.archive;
+
+import tacos.archive.ArchivedOrder.ArchivedTaco;
+import tacos.archive.ColumnCodec.Dictionary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An immutable file of archived orders, stored column by column: all order ids, then all placed-at times, and so on,
+ * each column encoded by {@link ColumnCodec} and deflated on its own. Orders are sorted by when they were placed, so
+ * consecutive timestamps and ids differ by little, and ingredient ids, states and cities repeat a lot, which is what
+ * the encodings make use of.
+ * <p>
+ * The file is memory-mapped; a query inflates only the columns it needs straight from the mapping, and the header
+ * (counts plus the range of ids and timestamps) lets whole segments be skipped without inflating anything.
+ */
+final class ArchiveSegment {
+    static final String SUFFIX = ".segment";
+
+    private static final int MAGIC = 0x5441434f;
+    private static final int VERSION = 1;
+    private static final int DIRECTORY_OFFSET = 5 * Integer.BYTES + 4 * Long.BYTES;
+    private static final int DIRECTORY_ENTRY_SIZE = 3 * Integer.BYTES;
+    private static final int HEADER_SIZE = DIRECTORY_OFFSET + Column.values().length * DIRECTORY_ENTRY_SIZE;
+
+    private enum Column {
+        ORDER_ID, PLACED_AT, DELIVERY_NAME, DELIVERY_STREET, DELIVERY_CITY, DELIVERY_STATE, DELIVERY_ZIP,
+        TACO_COUNT, TACO_ID, TACO_NAME, TACO_CREATED_AT, INGREDIENT_COUNT, INGREDIENT_ID
+    }
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int orderCount;
+    private final int tacoCount;
+    private final int ingredientCount;
+    private final long minOrderId;
+    private final long maxOrderId;
+    private final long minPlacedAt;
+    private final long maxPlacedAt;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        this.orderCount = buffer.getInt(2 * Integer.BYTES);
+        this.tacoCount = buffer.getInt(3 * Integer.BYTES);
+        this.ingredientCount = buffer.getInt(4 * Integer.BYTES);
+        this.minOrderId = buffer.getLong(5 * Integer.BYTES);
+        this.maxOrderId = buffer.getLong(5 * Integer.BYTES + Long.BYTES);
+        this.minPlacedAt = buffer.getLong(5 * Integer.BYTES + 2 * Long.BYTES);
+        this.maxPlacedAt = buffer.getLong(5 * Integer.BYTES + 3 * Long.BYTES);
+    }
+
+    /**
+     * The name of the segment holding the orders of one month, starting with the given lowest order id.
+     */
+    static String fileName(YearMonth month, long minOrderId) {
+        return String.format("orders-%s-%020d%s", month, minOrderId, SUFFIX);
+    }
+
+    /**
+     * Writes the orders to a new segment file and forces it to disk.
+     */
+    static void write(Path file, List<ArchivedOrder> orders) throws IOException {
+        List<ArchivedOrder> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(ArchivedOrder::placedAt).thenComparingLong(ArchivedOrder::id));
+
+        long[] ids = new long[sorted.size()];
+        long[] placedAt = new long[sorted.size()];
+        int[] tacoCounts = new int[sorted.size()];
+        List<List<String>> delivery = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>(), new ArrayList<>());
+        List<Long> tacoIds = new ArrayList<>();
+        List<Long> tacoCreatedAt = new ArrayList<>();
+        List<String> tacoNames = new ArrayList<>();
+        List<Integer> ingredientCounts = new ArrayList<>();
+        List<String> ingredientIds = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            ArchivedOrder order = sorted.get(i);
+            ids[i] = order.id();
+            placedAt[i] = order.placedAt().getTime();
+            delivery.get(0).add(order.deliveryName());
+            delivery.get(1).add(order.deliveryStreet());
+            delivery.get(2).add(order.deliveryCity());
+            delivery.get(3).add(order.deliveryState());
+            delivery.get(4).add(order.deliveryZip());
+            tacoCounts[i] = order.tacos().size();
+            for (ArchivedTaco taco : order.tacos()) {
+                tacoIds.add(taco.id());
+                tacoCreatedAt.add(taco.createdAt() != null ? taco.createdAt().getTime() : placedAt[i]);
+                tacoNames.add(taco.name());
+                ingredientCounts.add(taco.ingredientIds().size());
+                ingredientIds.addAll(taco.ingredientIds());
+            }
+        }
+
+        byte[][] columns = new byte[Column.values().length][];
+        columns[Column.ORDER_ID.ordinal()] = ColumnCodec.encodeDeltas(ids);
+        columns[Column.PLACED_AT.ordinal()] = ColumnCodec.encodeDeltas(placedAt);
+        columns[Column.DELIVERY_NAME.ordinal()] = ColumnCodec.encodeDictionary(delivery.get(0));
+        columns[Column.DELIVERY_STREET.ordinal()] = ColumnCodec.encodeDictionary(delivery.get(1));
+        columns[Column.DELIVERY_CITY.ordinal()] = ColumnCodec.encodeDictionary(delivery.get(2));
+        columns[Column.DELIVERY_STATE.ordinal()] = ColumnCodec.encodeDictionary(delivery.get(3));
+        columns[Column.DELIVERY_ZIP.ordinal()] = ColumnCodec.encodeDictionary(delivery.get(4));
+        columns[Column.TACO_COUNT.ordinal()] = ColumnCodec.encodeCounts(tacoCounts);
+        columns[Column.TACO_ID.ordinal()] = ColumnCodec.encodeDeltas(
+                tacoIds.stream().mapToLong(Long::longValue).toArray());
+        columns[Column.TACO_NAME.ordinal()] = ColumnCodec.encodeDictionary(tacoNames);
+        columns[Column.TACO_CREATED_AT.ordinal()] = ColumnCodec.encodeDeltas(
+                tacoCreatedAt.stream().mapToLong(Long::longValue).toArray());
+        columns[Column.INGREDIENT_COUNT.ordinal()] = ColumnCodec.encodeCounts(
+                ingredientCounts.stream().mapToInt(Integer::intValue).toArray());
+        columns[Column.INGREDIENT_ID.ordinal()] = ColumnCodec.encodeDictionary(ingredientIds);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(sorted.size())
+                .putInt(tacoIds.size())
+                .putInt(ingredientIds.size())
+                .putLong(sorted.isEmpty() ? 0 : Arrays.stream(ids).min().getAsLong())
+                .putLong(sorted.isEmpty() ? 0 : Arrays.stream(ids).max().getAsLong())
+                .putLong(sorted.isEmpty() ? 0 : placedAt[0])
+                .putLong(sorted.isEmpty() ? 0 : placedAt[placedAt.length - 1]);
+
+        List<byte[]> compressed = new ArrayList<>(columns.length);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            int offset = HEADER_SIZE;
+            for (byte[] column : columns) {
+                byte[] block = deflate(deflater, column);
+                header.putInt(offset).putInt(block.length).putInt(column.length);
+                compressed.add(block);
+                offset += block.length;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            header.flip();
+            writeFully(channel, header);
+            for (byte[] block : compressed) {
+                writeFully(channel, ByteBuffer.wrap(block));
+            }
+            channel.force(true);
+        }
+    }
+
+    static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not an order archive segment: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not an order archive segment: " + file);
+            }
+            return new ArchiveSegment(file, buffer);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int orderCount() {
+        return orderCount;
+    }
+
+    long minPlacedAt() {
+        return minPlacedAt;
+    }
+
+    long maxPlacedAt() {
+        return maxPlacedAt;
+    }
+
+    /**
+     * Finds an order by id, inflating the other columns only if the id column has it.
+     */
+    ArchivedOrder find(long id) {
+        if (orderCount == 0 || id < minOrderId || id > maxOrderId) {
+            return null;
+        }
+        long[] ids = ColumnCodec.decodeDeltas(column(Column.ORDER_ID), orderCount);
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return orders().get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * All orders in the segment, oldest first.
+     */
+    List<ArchivedOrder> orders() {
+        long[] ids = ColumnCodec.decodeDeltas(column(Column.ORDER_ID), orderCount);
+        long[] placedAt = ColumnCodec.decodeDeltas(column(Column.PLACED_AT), orderCount);
+        Dictionary names = ColumnCodec.decodeDictionary(column(Column.DELIVERY_NAME), orderCount);
+        Dictionary streets = ColumnCodec.decodeDictionary(column(Column.DELIVERY_STREET), orderCount);
+        Dictionary cities = ColumnCodec.decodeDictionary(column(Column.DELIVERY_CITY), orderCount);
+        Dictionary states = ColumnCodec.decodeDictionary(column(Column.DELIVERY_STATE), orderCount);
+        Dictionary zips = ColumnCodec.decodeDictionary(column(Column.DELIVERY_ZIP), orderCount);
+        int[] tacoCounts = ColumnCodec.decodeCounts(column(Column.TACO_COUNT), orderCount);
+        long[] tacoIds = ColumnCodec.decodeDeltas(column(Column.TACO_ID), tacoCount);
+        Dictionary tacoNames = ColumnCodec.decodeDictionary(column(Column.TACO_NAME), tacoCount);
+        long[] tacoCreatedAt = ColumnCodec.decodeDeltas(column(Column.TACO_CREATED_AT), tacoCount);
+        int[] ingredientCounts = ColumnCodec.decodeCounts(column(Column.INGREDIENT_COUNT), tacoCount);
+        Dictionary ingredientIds = ColumnCodec.decodeDictionary(column(Column.INGREDIENT_ID), ingredientCount);
+
+        List<ArchivedOrder> orders = new ArrayList<>(orderCount);
+        int taco = 0;
+        int ingredient = 0;
+        for (int i = 0; i < orderCount; i++) {
+            List<ArchivedTaco> tacos = new ArrayList<>(tacoCounts[i]);
+            for (int end = taco + tacoCounts[i]; taco < end; taco++) {
+                List<String> ingredients = new ArrayList<>(ingredientCounts[taco]);
+                for (int last = ingredient + ingredientCounts[taco]; ingredient < last; ingredient++) {
+                    ingredients.add(ingredientIds.get(ingredient));
+                }
+                tacos.add(new ArchivedTaco(tacoIds[taco], tacoNames.get(taco), new Date(tacoCreatedAt[taco]),
+                        ingredients));
+            }
+            orders.add(new ArchivedOrder(ids[i], new Date(placedAt[i]), names.get(i), streets.get(i), cities.get(i),
+                    states.get(i), zips.get(i), tacos));
+        }
+        return orders;
+    }
+
+    /**
+     * Totals over the orders placed from {@code from} (inclusive) to {@code to} (exclusive), in epoch milliseconds.
+     * Only the timestamp and count columns and the ingredient ids are inflated.
+     */
+    ArchiveSummary summarize(long from, long to) {
+        if (orderCount == 0 || maxPlacedAt < from || minPlacedAt >= to) {
+            return ArchiveSummary.EMPTY;
+        }
+        long[] placedAt = ColumnCodec.decodeDeltas(column(Column.PLACED_AT), orderCount);
+        int[] tacoCounts = ColumnCodec.decodeCounts(column(Column.TACO_COUNT), orderCount);
+        int[] ingredientCounts = ColumnCodec.decodeCounts(column(Column.INGREDIENT_COUNT), tacoCount);
+        Dictionary ingredientIds = ColumnCodec.decodeDictionary(column(Column.INGREDIENT_ID), ingredientCount);
+
+        long orders = 0;
+        long tacos = 0;
+        long[] tacosByCode = new long[ingredientIds.entries().length];
+        int taco = 0;
+        int ingredient = 0;
+        for (int i = 0; i < orderCount; i++) {
+            boolean inRange = placedAt[i] >= from && placedAt[i] < to;
+            if (inRange) {
+                orders++;
+                tacos += tacoCounts[i];
+            }
+            for (int end = taco + tacoCounts[i]; taco < end; taco++) {
+                for (int last = ingredient + ingredientCounts[taco]; ingredient < last; ingredient++) {
+                    if (inRange) {
+                        tacosByCode[ingredientIds.codes()[ingredient]]++;
+                    }
+                }
+            }
+        }
+
+        Map<String, Long> ingredients = new HashMap<>();
+        for (int code = 1; code < tacosByCode.length; code++) {
+            if (tacosByCode[code] > 0) {
+                ingredients.put(ingredientIds.entries()[code], tacosByCode[code]);
+            }
+        }
+        return new ArchiveSummary(orders, tacos, ingredients);
+    }
+
+    private byte[] column(Column column) {
+        int entry = DIRECTORY_OFFSET + column.ordinal() * DIRECTORY_ENTRY_SIZE;
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + Integer.BYTES);
+        byte[] raw = new byte[buffer.getInt(entry + 2 * Integer.BYTES)];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, length));
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int count = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (count == 0 && inflater.needsInput()) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != raw.length) {
+                throw new IllegalStateException("Truncated " + column + " column in " + file);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt " + column + " column in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] column) {
+        deflater.reset();
+        deflater.setInput(column);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, column.length / 4));
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
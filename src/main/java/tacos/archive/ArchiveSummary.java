@@ -0,0 +1,19 @@
+package tacos.archive;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Totals over the archived orders placed in a time range.
+ *
+ * @param ingredients the number of tacos made with each ingredient, by ingredient id
+ */
+public record ArchiveSummary(long orders, long tacos, Map<String, Long> ingredients) {
+    static final ArchiveSummary EMPTY = new ArchiveSummary(0, 0, Map.of());
+
+    ArchiveSummary plus(ArchiveSummary other) {
+        Map<String, Long> ingredients = new HashMap<>(this.ingredients);
+        other.ingredients.forEach((id, tacos) -> ingredients.merge(id, tacos, Long::sum));
+        return new ArchiveSummary(orders + other.orders, tacos + other.tacos, ingredients);
+    }
+}
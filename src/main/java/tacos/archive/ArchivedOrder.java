@@ -0,0 +1,31 @@
+package tacos.archive;
+
+import tacos.TacoOrder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An order read back from the archive: delivery details and tacos. Payment details are not archived.
+ */
+public record ArchivedOrder(long id, Date placedAt, String deliveryName, String deliveryStreet, String deliveryCity,
+                            String deliveryState, String deliveryZip, List<ArchivedTaco> tacos) {
+
+    /**
+     * @param ingredientIds the ingredient ids of each taco by taco id, see
+     *                      {@link tacos.data.TacoRepository#findIngredientIds}
+     */
+    static ArchivedOrder of(TacoOrder order, Map<Long, List<String>> ingredientIds) {
+        List<ArchivedTaco> tacos = order.getTacos().stream()
+                .map(taco -> new ArchivedTaco(taco.getId(), taco.getName(), taco.getCreatedAt(),
+                        ingredientIds.getOrDefault(taco.getId(), List.of())))
+                .toList();
+        return new ArchivedOrder(order.getId(), order.getPlacedAt(), order.getDeliveryName(),
+                order.getDeliveryStreet(), order.getDeliveryCity(), order.getDeliveryState(), order.getDeliveryZip(),
+                tacos);
+    }
+
+    public record ArchivedTaco(long id, String name, Date createdAt, List<String> ingredientIds) {
+    }
+}
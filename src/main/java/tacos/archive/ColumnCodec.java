@@ -0,0 +1,158 @@
+package tacos.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodings of the columns in an {@link ArchiveSegment}, before compression. Numbers are written as variable-length
+ * integers, so small ones take a byte:
+ * <ul>
+ *     <li>longs as the first value followed by the difference to each previous one, zigzag-encoded so that small
+ *     negative differences stay small too;</li>
+ *     <li>counts as they are;</li>
+ *     <li>strings as a dictionary of the distinct values followed by the dictionary code of each value, 0 standing
+ *     for {@code null}.</li>
+ * </ul>
+ */
+final class ColumnCodec {
+    private ColumnCodec() {
+    }
+
+    static byte[] encodeDeltas(long[] values) {
+        Output out = new Output();
+        long previous = 0;
+        for (long value : values) {
+            out.writeZigZag(value - previous);
+            previous = value;
+        }
+        return out.toByteArray();
+    }
+
+    static long[] decodeDeltas(byte[] column, int count) {
+        Input in = new Input(column);
+        long[] values = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readZigZag();
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    static byte[] encodeCounts(int[] values) {
+        Output out = new Output();
+        for (int value : values) {
+            out.writeVarLong(value);
+        }
+        return out.toByteArray();
+    }
+
+    static int[] decodeCounts(byte[] column, int count) {
+        Input in = new Input(column);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (int) in.readVarLong();
+        }
+        return values;
+    }
+
+    static byte[] encodeDictionary(List<String> values) {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] encoded = new int[values.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            String value = values.get(i);
+            if (value != null) {
+                encoded[i] = codes.computeIfAbsent(value, entry -> {
+                    entries.add(entry);
+                    return entries.size();
+                });
+            }
+        }
+
+        Output out = new Output();
+        out.writeVarLong(entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+        for (int code : encoded) {
+            out.writeVarLong(code);
+        }
+        return out.toByteArray();
+    }
+
+    static Dictionary decodeDictionary(byte[] column, int count) {
+        Input in = new Input(column);
+        String[] entries = new String[(int) in.readVarLong() + 1];
+        for (int i = 1; i < entries.length; i++) {
+            entries[i] = in.readString((int) in.readVarLong());
+        }
+        int[] codes = new int[count];
+        for (int i = 0; i < count; i++) {
+            codes[i] = (int) in.readVarLong();
+        }
+        return new Dictionary(entries, codes);
+    }
+
+    /**
+     * A decoded dictionary column.
+     *
+     * @param entries the distinct values by code, {@code null} at code 0
+     */
+    record Dictionary(String[] entries, int[] codes) {
+        String get(int index) {
+            return entries[codes[index]];
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+        void writeVarLong(long value) {
+            while ((value & ~0x7fL) != 0) {
+                write((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+    }
+
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString(int length) {
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package tacos.archive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Serves archived orders from the segment files written by the {@link OrderArchiver}, without touching the database.
+ * Lookups and summaries skip segments by the id and time ranges in their headers before inflating any column.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.orders.archive.enabled", havingValue = "true")
+public class OrderArchive implements MeterBinder {
+    private final Path directory;
+
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    public OrderArchive(OrderArchiveProps props) throws IOException {
+        this.directory = props.getDirectory();
+        Files.createDirectories(directory);
+        refresh();
+    }
+
+    public Optional<ArchivedOrder> findById(long id) {
+        for (ArchiveSegment segment : segments) {
+            ArchivedOrder order = segment.find(id);
+            if (order != null) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Totals over the archived orders placed from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public ArchiveSummary summarize(Instant from, Instant to) {
+        ArchiveSummary summary = ArchiveSummary.EMPTY;
+        for (ArchiveSegment segment : segments) {
+            summary = summary.plus(segment.summarize(from.toEpochMilli(), to.toEpochMilli()));
+        }
+        return summary;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Maps the segment files added since the last refresh; segments already mapped are kept as they are.
+     */
+    public synchronized void refresh() {
+        Map<Path, ArchiveSegment> mapped = new HashMap<>();
+        segments.forEach(segment -> mapped.put(segment.file(), segment));
+
+        List<ArchiveSegment> refreshed = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.toString().endsWith(ArchiveSegment.SUFFIX)).toList()) {
+                ArchiveSegment segment = mapped.get(file);
+                refreshed.add(segment != null ? segment : ArchiveSegment.open(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the order archive in " + directory, e);
+        }
+        refreshed.sort(Comparator.comparingLong(ArchiveSegment::minPlacedAt));
+        log.debug("Order archive has {} segments", refreshed.size());
+        segments = List.copyOf(refreshed);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taco.orders.archive.segments", this, OrderArchive::segmentCount)
+                .description("Segment files in the order archive")
+                .register(registry);
+        Gauge.builder("taco.orders.archive.orders", this,
+                        archive -> archive.segments.stream().mapToLong(ArchiveSegment::orderCount).sum())
+                .description("Orders in the order archive")
+                .register(registry);
+    }
+}
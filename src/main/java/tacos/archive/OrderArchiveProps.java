@@ -0,0 +1,47 @@
+package tacos.archive;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.orders.archive")
+@Validated
+public class OrderArchiveProps {
+    /**
+     * Whether old orders are moved out of the database into segment files by the {@link OrderArchiver}, and served
+     * from them by the {@link OrderArchive}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Where the segment files are kept, one or more per month of orders.
+     */
+    @NotNull
+    private Path directory = Path.of("archive");
+
+    /**
+     * Orders placed longer ago than this are archived.
+     */
+    @NotNull
+    private Duration minAge = Duration.ofDays(365);
+
+    /**
+     * Orders archived, and deleted from the database, per transaction.
+     */
+    @Min(value = 1, message = "Archive batch size must be at least 1")
+    private int batchSize = 500;
+
+    /**
+     * How long the archiver waits between runs; the first run starts one interval after startup.
+     */
+    @NotNull
+    private Duration interval = Duration.ofHours(1);
+}
@@ -0,0 +1,221 @@
+package tacos.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tacos.OrderArchiveSegment;
+import tacos.TacoOrder;
+import tacos.data.OrderArchiveSegmentRepository;
+import tacos.data.OrderRepository;
+import tacos.data.TacoRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Moves orders older than {@code min-age} out of the database into {@link ArchiveSegment} files, one batch of the
+ * oldest orders per transaction, so the order tables and their indexes only hold recent orders.
+ * <p>
+ * Each batch is written to a segment per calendar month (UTC) under a temporary name. The orders are deleted and the
+ * segments recorded as {@link OrderArchiveSegment} rows in one transaction, and only once it has committed are the
+ * files renamed for the {@link OrderArchive} to pick up. A crash in between leaves temporary files behind, which the
+ * next start renames or deletes depending on whether their row exists, so no order ends up in both places or neither.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.orders.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+    private static final String PENDING_SUFFIX = ".pending";
+
+    private final OrderRepository orderRepo;
+    private final TacoRepository tacoRepo;
+    private final OrderArchiveSegmentRepository segmentRepo;
+    private final OrderArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchiveProps props;
+
+    private final Counter archived;
+    private final ScheduledExecutorService scheduler;
+
+    public OrderArchiver(OrderRepository orderRepo, TacoRepository tacoRepo, OrderArchiveSegmentRepository segmentRepo,
+                         OrderArchive archive, PlatformTransactionManager transactionManager, OrderArchiveProps props,
+                         MeterRegistry meterRegistry) {
+        this.orderRepo = orderRepo;
+        this.tacoRepo = tacoRepo;
+        this.segmentRepo = segmentRepo;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.props = props;
+
+        this.archived = Counter.builder("taco.orders.archive.archived")
+                .description("Orders moved from the database into the order archive")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        scheduler.execute(this::recoverPendingSegments);
+        long interval = props.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::run, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Archives every order placed before the cutoff, a batch at a time.
+     *
+     * @return the number of orders archived
+     */
+    public synchronized long archivePlacedBefore(Instant cutoff) {
+        long total = 0;
+        int count;
+        do {
+            count = archiveBatch(Date.from(cutoff));
+            total += count;
+        } while (count > 0 && !Thread.currentThread().isInterrupted());
+        return total;
+    }
+
+    /**
+     * Finishes what a crash left half done: segment files whose row committed are renamed into the archive, the others
+     * deleted since their orders are still in the database.
+     */
+    synchronized void recoverPendingSegments() {
+        List<Path> pending;
+        try (Stream<Path> files = Files.list(props.getDirectory())) {
+            pending = files.filter(file -> file.toString().endsWith(PENDING_SUFFIX)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the order archive in " + props.getDirectory(), e);
+        }
+
+        List<Path> committed = new ArrayList<>();
+        for (Path file : pending) {
+            if (segmentRepo.existsById(segmentName(file))) {
+                committed.add(file);
+            } else {
+                log.warn("Deleting archive segment {} whose orders were never deleted from the database", file);
+                deleteQuietly(file);
+            }
+        }
+        publish(committed);
+    }
+
+    private void run() {
+        try {
+            long count = archivePlacedBefore(Instant.now().minus(props.getMinAge()));
+            if (count > 0) {
+                log.info("Archived {} orders placed more than {} ago", count, props.getMinAge());
+            }
+        } catch (RuntimeException e) {
+            log.error("Archiving orders failed, trying again in {}", props.getInterval(), e);
+        }
+    }
+
+    private int archiveBatch(Date cutoff) {
+        List<Path> written = new ArrayList<>();
+        Integer count;
+        try {
+            count = transactionTemplate.execute(status -> {
+                List<Long> ids = orderRepo.findOldestIdsPlacedBefore(cutoff, PageRequest.ofSize(props.getBatchSize()));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                List<TacoOrder> orders = orderRepo.findAllWithTacosByIdIn(ids);
+                Map<Long, List<String>> ingredientIds = tacoRepo.findIngredientIdsByTaco(orders.stream()
+                        .flatMap(order -> order.getTacos().stream())
+                        .toList());
+
+                Map<YearMonth, List<ArchivedOrder>> byMonth = new TreeMap<>();
+                for (TacoOrder order : orders) {
+                    YearMonth month = YearMonth.from(order.getPlacedAt().toInstant().atOffset(ZoneOffset.UTC));
+                    byMonth.computeIfAbsent(month, key -> new ArrayList<>())
+                            .add(ArchivedOrder.of(order, ingredientIds));
+                }
+                byMonth.forEach((month, monthOrders) -> {
+                    long minId = monthOrders.stream().mapToLong(ArchivedOrder::id).min().orElseThrow();
+                    String name = ArchiveSegment.fileName(month, minId);
+                    Path file = props.getDirectory().resolve(name + PENDING_SUFFIX);
+                    written.add(file);
+                    try {
+                        ArchiveSegment.write(file, monthOrders);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not write archive segment " + file, e);
+                    }
+                    segmentRepo.save(new OrderArchiveSegment(name, monthOrders.size(), new Date()));
+                });
+
+                orderRepo.deleteAll(orders);
+                return orders.size();
+            });
+        } catch (RuntimeException e) {
+            written.forEach(OrderArchiver::deleteQuietly);
+            throw e;
+        }
+
+        publish(written);
+        archived.increment(count);
+        return count;
+    }
+
+    private void publish(List<Path> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Path file : pending) {
+            try {
+                Files.move(file, file.resolveSibling(segmentName(file)), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Renamed on the next start; until then the orders are in neither the database nor the archive
+                throw new UncheckedIOException("Could not publish archive segment " + file, e);
+            }
+        }
+        archive.refresh();
+    }
+
+    private static String segmentName(Path pending) {
+        String name = pending.getFileName().toString();
+        return name.substring(0, name.length() - PENDING_SUFFIX.length());
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+}
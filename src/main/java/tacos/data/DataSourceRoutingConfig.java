@@ -0,0 +1,77 @@
+package tacos.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import tacos.data.DataSourceRoutingProps.Pool;
+import tacos.web.ThreadingProps;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReplicaRoutingDataSource} over one connection pool for the
+ * primary and one per replica, each sized by its own {@code taco.datasource.routing} settings. The pools publish the
+ * usual {@code hikaricp.connections.*} metrics tagged with their pool name, e.g. {@code taco-replica-1}. On virtual
+ * threads each pool gets its own {@link BulkheadDataSource}, sized like the pool unless
+ * {@code taco.threads.bulkhead-max-concurrent} says otherwise.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceRoutingProps props, ThreadingProps threadingProps,
+                                               MeterRegistry meterRegistry, ResourceLoader resourceLoader) {
+        DataSource primary = bulkhead(pool("taco-primary", props.getPrimary(), meterRegistry, resourceLoader),
+                threadingProps);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<Pool> replicaPools = props.getReplicas();
+        for (int i = 0; i < replicaPools.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, bulkhead(pool("taco-" + name, replicaPools.get(i), meterRegistry, resourceLoader),
+                    threadingProps));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, props.getHealthCheckInterval());
+    }
+
+    private static DataSource bulkhead(HikariDataSource pool, ThreadingProps threadingProps) {
+        if (!threadingProps.isVirtual()) {
+            return pool;
+        }
+        return BulkheadDataSource.of(pool, threadingProps.getBulkheadMaxConcurrent(),
+                threadingProps.getBulkheadAcquireTimeout());
+    }
+
+    private static HikariDataSource pool(String name, Pool settings, MeterRegistry meterRegistry,
+                                         ResourceLoader resourceLoader) {
+        if (settings.getUrl() == null || settings.getUrl().isBlank()) {
+            throw new IllegalStateException("No url configured for data source " + name);
+        }
+
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(settings.getUrl());
+        pool.setUsername(settings.getUsername());
+        pool.setPassword(settings.getPassword());
+        pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+        pool.setMinimumIdle(Math.min(settings.getMinimumIdle(), settings.getMaximumPoolSize()));
+        pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        pool.setMetricRegistry(meterRegistry);
+
+        if (!settings.getInitScripts().isEmpty()) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+            settings.getInitScripts().forEach(script -> populator.addScript(resourceLoader.getResource(script)));
+            DatabasePopulatorUtils.execute(populator, pool);
+        }
+        return pool;
+    }
+}
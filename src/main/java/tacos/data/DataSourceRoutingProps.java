@@ -0,0 +1,63 @@
+package tacos.data;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.datasource.routing")
+@Validated
+public class DataSourceRoutingProps {
+    /**
+     * Whether to connect to the primary and replicas below instead of {@code spring.datasource}, sending read-only
+     * transactions to the replicas and everything else to the primary.
+     */
+    private boolean enabled = false;
+
+    @Valid
+    @NotNull
+    private Pool primary = new Pool();
+
+    @Valid
+    @NotNull
+    private List<Pool> replicas = new ArrayList<>();
+
+    /**
+     * How often each replica is checked; read-only transactions skip replicas that failed their last check.
+     */
+    @NotNull
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Data
+    public static class Pool {
+        private String url;
+
+        private String username = "sa";
+
+        private String password = "";
+
+        @Min(value = 1, message = "Pool size must be at least 1")
+        private int maximumPoolSize = 10;
+
+        @Min(value = 0, message = "Idle connections must not be negative")
+        private int minimumIdle = 2;
+
+        @NotNull
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Scripts run against this database at startup, e.g. to seed an embedded H2 database standing in for a
+         * replica.
+         */
+        private List<String> initScripts = new ArrayList<>();
+    }
+}
@@ -0,0 +1,14 @@
+package tacos.data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A flat, detached copy of an order for export: delivery details and tacos, never payment details.
+ */
+public record ExportedOrder(long id, Instant placedAt, String deliveryName, String deliveryStreet,
+                            String deliveryCity, String deliveryState, String deliveryZip, List<Taco> tacos) {
+
+    public record Taco(String name, List<String> ingredients) {
+    }
+}
@@ -0,0 +1,203 @@
+package tacos.data;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tacos.TacoOrder;
+import tacos.data.OrderIngestionProps.WhenFull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Saves submitted orders from a bounded queue on a dedicated writer thread, committing many orders per transaction.
+ * <p>
+ * {@link #write(TacoOrder)} only returns once the transaction holding the order has committed, so callers get the
+ * same durability as saving the order themselves while the database sees far fewer, larger transactions.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "taco.orders.ingestion.enabled", havingValue = "true")
+public class GroupCommitOrderWriter {
+    private final OrderRepository orderRepo;
+    private final RecipeInterner recipeInterner;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderIngestionProps props;
+    private final BlockingQueue<PendingOrder> queue;
+
+    private final DistributionSummary groupSize;
+    private final Timer commitLatency;
+    private final Counter rejected;
+
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public GroupCommitOrderWriter(OrderRepository orderRepo, RecipeInterner recipeInterner,
+                                  PlatformTransactionManager transactionManager, OrderIngestionProps props,
+                                  MeterRegistry meterRegistry) {
+        this.orderRepo = orderRepo;
+        this.recipeInterner = recipeInterner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+
+        Gauge.builder("taco.orders.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Orders waiting for the group commit writer")
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("taco.orders.ingestion.group.size")
+                .description("Orders saved per transaction")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("taco.orders.ingestion.commit")
+                .description("Time taken to save and commit one group of orders")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("taco.orders.ingestion.rejected")
+                .description("Orders turned away because the queue was full")
+                .register(meterRegistry);
+
+        this.writerThread = new Thread(this::drain, "order-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        // Fail whatever is left rather than have its callers wait for a writer that is gone
+        PendingOrder pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new OrderWriterStoppedException());
+        }
+    }
+
+    /**
+     * Queues the order and blocks until it has been committed, for at most {@code commit-timeout}.
+     *
+     * @throws OrderQueueFullException if the queue has no room for the order
+     * @throws OrderWriterStoppedException if the writer is shutting down; the order was not saved
+     * @throws OrderCommitPendingException if the order was queued but not committed within {@code commit-timeout};
+     *                                     it may still be saved
+     */
+    public void write(TacoOrder order) {
+        if (!running) {
+            throw new OrderWriterStoppedException();
+        }
+        // On the caller's thread, outside the group's transaction, see RecipeInterner
+        recipeInterner.assignRecipes(order);
+        PendingOrder pending = new PendingOrder(order);
+        try {
+            if (!enqueue(pending)) {
+                rejected.increment();
+                throw new OrderQueueFullException();
+            }
+            if (!running && queue.remove(pending)) {
+                // Queued as the writer was stopping, possibly after it last looked at the queue
+                throw new OrderWriterStoppedException();
+            }
+            pending.result.get(props.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order to be saved", e);
+        } catch (TimeoutException e) {
+            throw new OrderCommitPendingException(props.getCommitTimeout(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to save order", e.getCause());
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private boolean enqueue(PendingOrder pending) throws InterruptedException {
+        if (props.getWhenFull() == WhenFull.WAIT) {
+            return queue.offer(pending, props.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return queue.offer(pending);
+    }
+
+    private void drain() {
+        List<PendingOrder> group = new ArrayList<>(props.getMaxGroupSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, props.getMaxGroupSize() - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                // Errors included: the writer has to outlive a failed group or every later write would hang
+                log.error("Unexpected failure in order writer", e);
+                group.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingOrder> group) {
+        groupSize.record(group.size());
+        try {
+            commitLatency.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    orderRepo.saveAll(group.stream().map(PendingOrder::order).toList())));
+            group.forEach(pending -> pending.result.complete(null));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result.completeExceptionally(e);
+                return;
+            }
+
+            // Don't let one bad order fail everyone else's; retry the group one order per transaction
+            log.warn("Group commit of {} orders failed, saving them one by one", group.size(), e);
+            for (PendingOrder pending : group) {
+                resetIds(pending.order());
+                try {
+                    transactionTemplate.executeWithoutResult(status -> orderRepo.save(pending.order()));
+                    pending.result.complete(null);
+                } catch (RuntimeException orderFailure) {
+                    pending.result.completeExceptionally(orderFailure);
+                }
+            }
+        }
+    }
+
+    // Ids handed out during the rolled back transaction would make the retry look like an update
+    private static void resetIds(TacoOrder order) {
+        order.setId(null);
+        order.getTacos().forEach(taco -> taco.setId(null));
+    }
+
+    private record PendingOrder(TacoOrder order, CompletableFuture<Void> result) {
+        PendingOrder(TacoOrder order) {
+            this(order, new CompletableFuture<>());
+        }
+    }
+}
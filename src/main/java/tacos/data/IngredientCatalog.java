@@ -0,0 +1,171 @@
+package tacos.data;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Immutable, in-memory snapshot of the ingredient table, pre-grouped by {@link Type}.
+ * <p>
+ * The snapshot is loaded with a single query on first use and dropped whenever an ingredient is saved or deleted
+ * (see {@link IngredientCatalogListener}); the next reader then swaps in a freshly loaded one.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class IngredientCatalog implements MeterBinder {
+    private final IngredientRepository ingredientRepo;
+
+    private volatile Snapshot snapshot;
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public IngredientCatalog(IngredientRepository ingredientRepo) {
+        this.ingredientRepo = ingredientRepo;
+    }
+
+    public Map<Type, List<Ingredient>> byType() {
+        return current().byType();
+    }
+
+    /**
+     * Looks up a single ingredient, falling back to the database only when the id is not in the snapshot.
+     */
+    public Ingredient findById(String id) {
+        return findAllById(List.of(id)).get(0);
+    }
+
+    /**
+     * Resolves ingredient ids in order from the snapshot. Ids the snapshot does not know about are fetched together
+     * with one {@code findAllById} call; ids that do not exist at all resolve to {@code null}.
+     */
+    public List<Ingredient> findAllById(List<String> ids) {
+        Map<String, Ingredient> byId = current().byId();
+
+        List<String> unknown = null;
+        for (String id : ids) {
+            if (!byId.containsKey(id)) {
+                if (unknown == null) {
+                    unknown = new ArrayList<>();
+                }
+                unknown.add(id);
+            }
+        }
+
+        Map<String, Ingredient> fetched = Map.of();
+        if (unknown != null) {
+            fallbacks.increment();
+            fetched = new HashMap<>();
+            for (Ingredient ingredient : ingredientRepo.findAllById(unknown)) {
+                fetched.put(ingredient.getId(), ingredient);
+            }
+        }
+
+        List<Ingredient> ingredients = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Ingredient ingredient = byId.get(id);
+            ingredients.add(ingredient != null ? ingredient : fetched.get(id));
+        }
+        return ingredients;
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Drops the current snapshot so that the next reader loads the ingredient table again.
+     */
+    public synchronized void refresh() {
+        snapshot = null;
+        refreshes.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taco.ingredients.catalog.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Catalog reads served from the current snapshot")
+                .register(registry);
+        FunctionCounter.builder("taco.ingredients.catalog.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Catalog reads that had to load a new snapshot")
+                .register(registry);
+        FunctionCounter.builder("taco.ingredients.catalog.refreshes", refreshes, LongAdder::sum)
+                .description("Snapshots dropped after an ingredient change")
+                .register(registry);
+        FunctionCounter.builder("taco.ingredients.catalog.fallbacks", fallbacks, LongAdder::sum)
+                .description("Lookups of ids missing from the snapshot that went to the database")
+                .register(registry);
+    }
+
+    Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        return load();
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+
+        Map<Type, List<Ingredient>> grouped = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            grouped.put(type, new ArrayList<>());
+        }
+        Map<String, Ingredient> byId = new HashMap<>();
+        for (Ingredient ingredient : ingredientRepo.findAll()) {
+            grouped.get(ingredient.getType()).add(ingredient);
+            byId.put(ingredient.getId(), ingredient);
+        }
+        grouped.replaceAll((type, ingredients) -> List.copyOf(ingredients));
+
+        current = new Snapshot(++version, Collections.unmodifiableMap(grouped), Map.copyOf(byId));
+        snapshot = current;
+        log.debug("Loaded ingredient catalog version {} with {} ingredients", current.version(), byId.size());
+        return current;
+    }
+
+    record Snapshot(long version, Map<Type, List<Ingredient>> byType, Map<String, Ingredient> byId) {
+    }
+}
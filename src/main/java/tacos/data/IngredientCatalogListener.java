@@ -0,0 +1,43 @@
+package tacos.data;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tacos.Ingredient;
+
+/**
+ * JPA entity listener that refreshes the {@link IngredientCatalog} once a change to an {@link Ingredient} has been
+ * committed. Instantiated by Hibernate through Spring, so the catalog is injected lazily and may be absent (e.g. in
+ * {@code @DataJpaTest} slices).
+ */
+public class IngredientCatalogListener {
+    private final ObjectProvider<IngredientCatalog> catalog;
+
+    public IngredientCatalogListener(ObjectProvider<IngredientCatalog> catalog) {
+        this.catalog = catalog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void ingredientChanged(Ingredient ingredient) {
+        catalog.ifAvailable(this::refreshAfterCommit);
+    }
+
+    private void refreshAfterCommit(IngredientCatalog catalog) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            catalog.refresh();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalog.refresh();
+            }
+        });
+    }
+}
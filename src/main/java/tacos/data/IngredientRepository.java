@@ -1,10 +1,19 @@
 package tacos.data;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import tacos.Ingredient;
 
 @Repository
 public interface IngredientRepository extends CrudRepository<Ingredient, String> {
+    /**
+     * All ingredients, from the query cache once warm; any change to the ingredient table invalidates it.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Iterable<Ingredient> findAll();
 }
 
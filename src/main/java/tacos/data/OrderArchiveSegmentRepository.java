@@ -0,0 +1,9 @@
+package tacos.data;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import tacos.OrderArchiveSegment;
+
+@Repository
+public interface OrderArchiveSegmentRepository extends CrudRepository<OrderArchiveSegment, String> {
+}
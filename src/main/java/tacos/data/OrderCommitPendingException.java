@@ -0,0 +1,14 @@
+package tacos.data;
+
+import java.time.Duration;
+
+/**
+ * The order was handed to the {@link GroupCommitOrderWriter} but had not committed within {@code commit-timeout}. It
+ * is still queued or being saved and may yet be placed, so it must not simply be submitted again.
+ */
+public class OrderCommitPendingException extends RuntimeException {
+    public OrderCommitPendingException(Duration commitTimeout, Throwable cause) {
+        super("Your order is taking longer than " + commitTimeout.toSeconds() + " seconds to save and may still be"
+                + " placed, please don't order again before checking with us", cause);
+    }
+}
@@ -0,0 +1,15 @@
+package tacos.data;
+
+import java.util.function.Consumer;
+
+/**
+ * Custom {@link OrderRepository} fragment for reading every order without holding them all in memory.
+ */
+public interface OrderExportRepository {
+    /**
+     * Hands every order, oldest first, to {@code consumer} one at a time.
+     *
+     * @return the number of orders exported
+     */
+    long exportAll(Consumer<ExportedOrder> consumer);
+}
@@ -0,0 +1,118 @@
+package tacos.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import tacos.Recipe;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Walks a forward-only cursor over one flat row per (order, taco, ingredient), fetched {@value #FETCH_SIZE} rows at
+ * a time, and folds consecutive rows back into orders. Only scalar columns are selected, so no entities pile up in the
+ * persistence context, and it is cleared every {@value #FETCH_SIZE} rows regardless. At most one order is held in
+ * memory at a time.
+ */
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+    static final int FETCH_SIZE = 1000;
+
+    private static final String EXPORT_QUERY = """
+            select o.id, o.placedAt, o.deliveryName, o.deliveryStreet, o.deliveryCity, o.deliveryState,
+                   o.deliveryZip, t.id, t.name, i.id, t.ingredientOrder
+            from TacoOrder o left join o.tacos t left join t.recipe r left join r.ingredients i
+            order by o.id, t.id, i.id""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<ExportedOrder> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        long exported = 0;
+        int rowsSinceClear = 0;
+
+        try (ScrollableResults<Object[]> rows = session.createQuery(EXPORT_QUERY, Object[].class)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            OrderRows order = null;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                long orderId = (Long) row[0];
+                if (order == null || order.id != orderId) {
+                    if (order != null) {
+                        consumer.accept(order.toExportedOrder());
+                        exported++;
+                    }
+                    order = new OrderRows(row);
+                }
+                order.add((Long) row[7], (String) row[8], (String) row[9], (String) row[10]);
+
+                if (++rowsSinceClear == FETCH_SIZE) {
+                    session.clear();
+                    rowsSinceClear = 0;
+                }
+            }
+            if (order != null) {
+                consumer.accept(order.toExportedOrder());
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    private static final class OrderRows {
+        private final long id;
+        private final Object[] firstRow;
+        private final List<ExportedOrder.Taco> tacos = new ArrayList<>();
+        private Long tacoId;
+        private String tacoName;
+        private String ingredientOrder;
+        private List<String> ingredients;
+
+        OrderRows(Object[] firstRow) {
+            this.id = (Long) firstRow[0];
+            this.firstRow = firstRow;
+        }
+
+        void add(Long tacoId, String tacoName, String ingredientId, String ingredientOrder) {
+            if (tacoId == null) {
+                return;
+            }
+            if (!tacoId.equals(this.tacoId)) {
+                finishTaco();
+                this.tacoId = tacoId;
+                this.tacoName = tacoName;
+                this.ingredientOrder = ingredientOrder;
+                this.ingredients = new ArrayList<>();
+            }
+            if (ingredientId != null) {
+                ingredients.add(ingredientId);
+            }
+        }
+
+        ExportedOrder toExportedOrder() {
+            finishTaco();
+            return new ExportedOrder(id, ((Date) firstRow[1]).toInstant(), (String) firstRow[2],
+                    (String) firstRow[3], (String) firstRow[4], (String) firstRow[5], (String) firstRow[6],
+                    List.copyOf(tacos));
+        }
+
+        private void finishTaco() {
+            if (tacoId != null) {
+                tacos.add(new ExportedOrder.Taco(tacoName,
+                        List.copyOf(Recipe.inPickOrder(ingredients, ingredientOrder))));
+                tacoId = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package tacos.data;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.orders.ingestion")
+@Validated
+public class OrderIngestionProps {
+    /**
+     * Whether submitted orders are handed to the {@link GroupCommitOrderWriter} instead of being saved on the request
+     * thread.
+     */
+    private boolean enabled = false;
+
+    @Min(value = 1, message = "Queue capacity must be at least 1")
+    private int queueCapacity = 1000;
+
+    @Min(value = 1, message = "Group size must be at least 1")
+    private int maxGroupSize = 50;
+
+    @NotNull
+    private WhenFull whenFull = WhenFull.REJECT;
+
+    /**
+     * How long a request waits for room in the queue when {@link #whenFull} is {@link WhenFull#WAIT}.
+     */
+    @NotNull
+    private Duration offerTimeout = Duration.ofSeconds(1);
+
+    /**
+     * How long a request waits for its order to be committed before giving up with an error. The order may still be
+     * saved afterwards; this only bounds how long a request thread can be held.
+     */
+    @NotNull
+    private Duration commitTimeout = Duration.ofSeconds(10);
+
+    public enum WhenFull {
+        REJECT, WAIT
+    }
+}
@@ -0,0 +1,9 @@
+package tacos.data;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import tacos.OrderJournalCheckpoint;
+
+@Repository
+public interface OrderJournalCheckpointRepository extends CrudRepository<OrderJournalCheckpoint, Integer> {
+}
@@ -0,0 +1,7 @@
+package tacos.data;
+
+public class OrderQueueFullException extends RuntimeException {
+    public OrderQueueFullException() {
+        super("Too many orders are waiting to be saved, please try again shortly");
+    }
+}
@@ -1,9 +1,44 @@
 package tacos.data;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tacos.TacoOrder;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends CrudRepository<TacoOrder, Long> {
+public interface OrderRepository extends CrudRepository<TacoOrder, Long>, OrderExportRepository {
+    /**
+     * Ids of the newest orders, newest first. Only {@link Pageable#getPageSize()} is used; there is no count query.
+     */
+    @Query("select o.id from TacoOrder o order by o.placedAt desc, o.id desc")
+    List<Long> findNewestIds(Pageable page);
+
+    /**
+     * Ids of the orders that come after the order placed at {@code placedAt} with id {@code id} in newest-first order,
+     * seeking on the {@code (placed_at, id)} index rather than skipping an offset. That order need not exist anymore.
+     */
+    @Query("""
+            select o.id from TacoOrder o
+            where o.placedAt < :placedAt or (o.placedAt = :placedAt and o.id < :id)
+            order by o.placedAt desc, o.id desc""")
+    List<Long> findNewestIdsAfter(@Param("placedAt") Date placedAt, @Param("id") Long id, Pageable page);
+
+    /**
+     * Ids of the oldest orders placed before {@code cutoff}, oldest first, for the order archiver.
+     */
+    @Query("select o.id from TacoOrder o where o.placedAt < :cutoff order by o.placedAt, o.id")
+    List<Long> findOldestIdsPlacedBefore(@Param("cutoff") Date cutoff, Pageable page);
+
+    /**
+     * Loads the orders together with their tacos, but not the tacos' ingredients; a second bag fetch in the same
+     * query would multiply rows (and Hibernate refuses it), see {@link TacoRepository#findIngredientIds}.
+     */
+    @Query("select o from TacoOrder o left join fetch o.tacos where o.id in :ids")
+    List<TacoOrder> findAllWithTacosByIdIn(@Param("ids") Collection<Long> ids);
 }
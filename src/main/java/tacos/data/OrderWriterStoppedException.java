@@ -0,0 +1,7 @@
+package tacos.data;
+
+public class OrderWriterStoppedException extends RuntimeException {
+    public OrderWriterStoppedException() {
+        super("Orders are not being taken while the server shuts down, please try again shortly");
+    }
+}
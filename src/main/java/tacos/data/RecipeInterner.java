@@ -0,0 +1,90 @@
+package tacos.data;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tacos.Ingredient;
+import tacos.Recipe;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Finds the {@link Recipe} for a set of ingredients, creating it the first time that combination is ordered.
+ * <p>
+ * Known recipes are kept in memory, so the usual handful of combinations costs no queries at all. A new recipe is
+ * committed in its own transaction straight away: recipes never change, and committing early means two orders
+ * creating the same recipe at once cannot fail each other. The loser of that race reads the winner's recipe.
+ * <p>
+ * That transaction needs a connection of its own, so the paths that save orders under load call
+ * {@link #assignRecipes(TacoOrder)} before opening theirs; a thread holding one connection while waiting for another
+ * would deadlock the pool once every connection is held that way. {@link RecipeListener} only catches the tacos
+ * saved some other way.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class RecipeInterner {
+    static final int MAX_CACHED_RECIPES = 10_000;
+
+    private final RecipeRepository recipeRepo;
+    private final TransactionTemplate newTransaction;
+    private final ConcurrentMap<String, Recipe> recipes = new ConcurrentHashMap<>();
+
+    public RecipeInterner(RecipeRepository recipeRepo, PlatformTransactionManager transactionManager) {
+        this.recipeRepo = recipeRepo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Assigns a recipe to each of the order's tacos that has none yet. Call it outside any transaction.
+     */
+    public void assignRecipes(TacoOrder order) {
+        order.getTacos().forEach(this::assignRecipe);
+    }
+
+    /**
+     * Points the taco at the recipe for its ingredients, remembering the order they were picked in, unless it already
+     * has a recipe.
+     */
+    public void assignRecipe(Taco taco) {
+        if (taco.getRecipe() != null) {
+            return;
+        }
+        List<Ingredient> ingredients = taco.getIngredients();
+        taco.setRecipe(intern(ingredients));
+        taco.setIngredientOrder(Recipe.pickOrderOf(ingredients.stream().map(Ingredient::getId).toList()));
+    }
+
+    public Recipe intern(List<Ingredient> ingredients) {
+        String key = Recipe.keyOf(ingredients.stream().map(Ingredient::getId).toList());
+        Recipe recipe = recipes.get(key);
+        if (recipe != null) {
+            return recipe;
+        }
+
+        recipe = findOrCreate(key, ingredients);
+        if (recipes.size() < MAX_CACHED_RECIPES) {
+            recipes.putIfAbsent(key, recipe);
+        }
+        return recipe;
+    }
+
+    private Recipe findOrCreate(String key, List<Ingredient> ingredients) {
+        try {
+            return newTransaction.execute(status -> recipeRepo.findByIngredientKey(key)
+                    .orElseGet(() -> recipeRepo.save(new Recipe(ingredients))));
+        } catch (DataAccessException e) {
+            log.debug("Recipe {} was created concurrently, reading it back", key, e);
+            return newTransaction.execute(status -> recipeRepo.findByIngredientKey(key)).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package tacos.data;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import tacos.Taco;
+
+/**
+ * JPA entity listener that points each new {@link Taco}, and each taco whose ingredients were replaced, at the shared
+ * recipe for its ingredients, so saving tacos through any repository or cascade stores each combination of
+ * ingredients only once.
+ * <p>
+ * Order submission assigns recipes before its transaction opens (see {@link RecipeInterner#assignRecipes}); this is
+ * the fallback for other saves, where a new combination briefly needs a second connection.
+ */
+public class RecipeListener {
+    private final ObjectProvider<RecipeInterner> recipeInterner;
+
+    public RecipeListener(ObjectProvider<RecipeInterner> recipeInterner) {
+        this.recipeInterner = recipeInterner;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void assignRecipe(Taco taco) {
+        if (taco.getRecipe() == null) {
+            recipeInterner.getObject().assignRecipe(taco);
+        }
+    }
+}
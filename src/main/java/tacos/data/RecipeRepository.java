@@ -0,0 +1,15 @@
+package tacos.data;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tacos.Recipe;
+
+import java.util.Optional;
+
+@Repository
+public interface RecipeRepository extends CrudRepository<Recipe, Long> {
+    @Query("select r from Recipe r left join fetch r.ingredients where r.ingredientKey = :key")
+    Optional<Recipe> findByIngredientKey(@Param("key") String ingredientKey);
+}
@@ -0,0 +1,176 @@
+package tacos.data;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replicas, taking turns among those that passed their last health check, and
+ * everything else to the primary. When no replica is healthy, read-only transactions go to the primary as well.
+ * <p>
+ * The route is picked when the first statement runs rather than when the connection is requested: transaction
+ * managers fetch the connection before the transaction is marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements MeterBinder, AutoCloseable {
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final ScheduledExecutorService healthChecks;
+
+    /**
+     * @param replicas the replica data sources by name, e.g. {@code replica-1}
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.healthCheckInterval = healthCheckInterval;
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Router router = new Router();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+        if (!replicas.isEmpty()) {
+            long interval = healthCheckInterval.toMillis();
+            healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthChecks.shutdownNow();
+        for (DataSource dataSource : targets()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Picks the route for a connection about to be used, counting it against that route.
+     */
+    String currentRoute() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (replica.healthy) {
+                    replica.connections.increment();
+                    return replica.name;
+                }
+            }
+            if (!replicas.isEmpty()) {
+                fallbacks.increment();
+            }
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(1);
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is healthy again, routing read-only transactions to it", replica.name);
+                } else {
+                    log.warn("Replica {} failed its health check, routing around it", replica.name);
+                }
+                replica.healthy = healthy;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taco.datasource.connections", primaryConnections, LongAdder::sum)
+                .tag("route", PRIMARY)
+                .description("Connections routed to the primary or to each replica")
+                .register(registry);
+        for (Replica replica : replicas) {
+            FunctionCounter.builder("taco.datasource.connections", replica.connections, LongAdder::sum)
+                    .tag("route", replica.name)
+                    .description("Connections routed to the primary or to each replica")
+                    .register(registry);
+            Gauge.builder("taco.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("route", replica.name)
+                    .description("Whether the replica passed its last health check")
+                    .register(registry);
+        }
+        FunctionCounter.builder("taco.datasource.replica.fallbacks", fallbacks, LongAdder::sum)
+                .description("Read-only connections sent to the primary because no replica was healthy")
+                .register(registry);
+    }
+
+    List<DataSource> targets() {
+        List<DataSource> targets = new ArrayList<>(replicas.size() + 1);
+        targets.add(primary);
+        replicas.forEach(replica -> targets.add(replica.dataSource));
+        return targets;
+    }
+
+    private class Router extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return currentRoute();
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder connections = new LongAdder();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
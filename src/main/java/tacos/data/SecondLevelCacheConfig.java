@@ -0,0 +1,39 @@
+package tacos.data;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every application context its own JCache manager for Hibernate's second-level cache, configured by
+ * {@code ehcache.xml}. JCache hands out one manager per configuration URI and Hibernate closes it with the session
+ * factory, so contexts in the same JVM (test contexts, the nodes of a cluster test) would otherwise share entries
+ * between databases and close each other's caches.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+public class SecondLevelCacheConfig {
+    private static final AtomicInteger CONTEXTS = new AtomicInteger();
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("classpath:ehcache.xml") Resource config) throws IOException {
+        // The fragment only makes the URI, and so the manager, unique; it is ignored when the file is read
+        URI uri = URI.create(config.getURI() + "#context-" + CONTEXTS.incrementAndGet());
+        return Caching.getCachingProvider().getCacheManager(uri, getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
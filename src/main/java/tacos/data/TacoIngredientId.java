@@ -0,0 +1,7 @@
+package tacos.data;
+
+/**
+ * One ingredient of a taco, by way of the taco's recipe.
+ */
+public record TacoIngredientId(Long tacoId, String ingredientId) {
+}
@@ -1,9 +1,46 @@
 package tacos.data;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import tacos.Recipe;
 import tacos.Taco;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Repository
 public interface TacoRepository extends CrudRepository<Taco, Long> {
+    /**
+     * The ingredient ids of many tacos in one query, without loading {@link tacos.Ingredient} entities. Each taco's
+     * ids come in its recipe's sorted order; see {@link #findIngredientIdsByTaco} for the order they were picked in.
+     */
+    @Query("""
+            select new tacos.data.TacoIngredientId(t.id, i.id)
+            from Taco t join t.recipe r join r.ingredients i
+            where t.id in :tacoIds
+            order by t.id, i.id""")
+    List<TacoIngredientId> findIngredientIds(@Param("tacoIds") Collection<Long> tacoIds);
+
+    /**
+     * The ingredient ids of each of the given loaded tacos by taco id, in the order they were picked.
+     */
+    default Map<Long, List<String>> findIngredientIdsByTaco(Collection<Taco> tacos) {
+        Map<Long, List<String>> ingredientIds = new HashMap<>();
+        if (tacos.isEmpty()) {
+            return ingredientIds;
+        }
+        for (TacoIngredientId row : findIngredientIds(tacos.stream().map(Taco::getId).toList())) {
+            ingredientIds.computeIfAbsent(row.tacoId(), id -> new ArrayList<>()).add(row.ingredientId());
+        }
+        for (Taco taco : tacos) {
+            ingredientIds.computeIfPresent(taco.getId(),
+                    (id, sorted) -> Recipe.inPickOrder(sorted, taco.getIngredientOrder()));
+        }
+        return ingredientIds;
+    }
 }
@@ -0,0 +1,46 @@
+package tacos.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.StreamUtils;
+import tacos.data.OrderRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams every order to an output stream, shared by {@code OrderExportController} and {@link OrderExportRunner}.
+ */
+public final class OrderExport {
+    private OrderExport() {
+    }
+
+    /**
+     * Writes all orders to {@code out}, then flushes it; closing it is up to the caller.
+     *
+     * @return the number of orders written
+     */
+    public static long write(OrderRepository orderRepo, ObjectMapper objectMapper, OrderExportFormat format,
+                             boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = StreamUtils.nonClosing(out);
+        if (gzip) {
+            target = new GZIPOutputStream(target, 64 * 1024);
+        }
+
+        long exported;
+        try (OrderExportWriter writer = format.open(target, objectMapper)) {
+            exported = orderRepo.exportAll(order -> {
+                try {
+                    writer.write(order);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return exported;
+    }
+}
@@ -0,0 +1,136 @@
+package tacos.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import tacos.data.ExportedOrder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The formats orders can be exported in. Writers buffer a little output and write each order as soon as they are
+ * given it, so an export holds one order in memory however many are written.
+ */
+public enum OrderExportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", ".ndjson") {
+        @Override
+        public OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            ObjectWriter json = objectMapper.writerFor(ExportedOrder.class)
+                    .withRootValueSeparator("\n")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            JsonGenerator generator = json.createGenerator(out);
+            return new OrderExportWriter() {
+                private boolean empty = true;
+
+                @Override
+                public void write(ExportedOrder order) throws IOException {
+                    json.writeValue(generator, order);
+                    empty = false;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (!empty) {
+                        generator.writeRaw('\n');
+                    }
+                    generator.close();
+                }
+            };
+        }
+    },
+
+    /**
+     * One row per taco, with its ingredient ids separated by {@code |}; orders without tacos get one row with empty
+     * taco columns.
+     */
+    CSV("text/csv", ".csv") {
+        private static final String HEADER = "order_id,placed_at,delivery_name,delivery_street,delivery_city,"
+                + "delivery_state,delivery_zip,taco_name,ingredients";
+
+        @Override
+        public OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            writer.write(HEADER);
+            writer.write('\n');
+            return new OrderExportWriter() {
+                @Override
+                public void write(ExportedOrder order) throws IOException {
+                    if (order.tacos().isEmpty()) {
+                        writeRow(order, "", "");
+                    }
+                    for (ExportedOrder.Taco taco : order.tacos()) {
+                        writeRow(order, taco.name(), String.join("|", taco.ingredients()));
+                    }
+                }
+
+                private void writeRow(ExportedOrder order, String tacoName, String ingredients) throws IOException {
+                    writer.write(Long.toString(order.id()));
+                    writer.write(',');
+                    writer.write(order.placedAt().toString());
+                    for (String field : new String[]{order.deliveryName(), order.deliveryStreet(),
+                            order.deliveryCity(), order.deliveryState(), order.deliveryZip(), tacoName, ingredients}) {
+                        writer.write(',');
+                        writeField(field);
+                    }
+                    writer.write('\n');
+                }
+
+                private void writeField(String field) throws IOException {
+                    if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0
+                            && field.indexOf('\r') < 0) {
+                        writer.write(field);
+                        return;
+                    }
+                    writer.write('"');
+                    writer.write(field.replace("\"", "\"\""));
+                    writer.write('"');
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.close();
+                }
+            };
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    OrderExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Starts writing orders to {@code out}; closing the returned writer flushes and closes {@code out}.
+     */
+    public abstract OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Parses a format name case-insensitively.
+     *
+     * @throws IllegalArgumentException if there is no such format
+     */
+    public static OrderExportFormat of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,66 @@
+package tacos.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tacos.data.OrderRepository;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports every order to {@code taco.export.file} on startup, e.g.
+ * {@code --spring.main.web-application-type=none --taco.export.file=orders.csv.gz}. The format follows the file
+ * extension ({@code .ndjson} or {@code .csv}), gzip-compressed when it ends in {@code .gz}.
+ */
+@Slf4j
+@Component
+@Order
+@ConditionalOnProperty(name = "taco.export.file")
+public class OrderExportRunner implements ApplicationRunner {
+    private final OrderRepository orderRepo;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public OrderExportRunner(OrderRepository orderRepo, ObjectMapper objectMapper,
+                             @Value("${taco.export.file}") Path file) {
+        this.orderRepo = orderRepo;
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String name = file.getFileName().toString();
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - ".gz".length());
+        }
+        OrderExportFormat format = formatOf(name);
+
+        long start = System.nanoTime();
+        long exported;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            exported = OrderExport.write(orderRepo, objectMapper, format, gzip, out);
+        }
+        log.info("Exported {} orders to {} in {} ms", exported, file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static OrderExportFormat formatOf(String name) {
+        for (OrderExportFormat format : OrderExportFormat.values()) {
+            if (name.endsWith(format.getExtension())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Cannot tell the export format of " + name
+                + "; expected a .ndjson or .csv file, optionally .gz");
+    }
+}
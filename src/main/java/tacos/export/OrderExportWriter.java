@@ -0,0 +1,10 @@
+package tacos.export;
+
+import tacos.data.ExportedOrder;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface OrderExportWriter extends Closeable {
+    void write(ExportedOrder order) throws IOException;
+}
@@ -0,0 +1,7 @@
+package tacos.journal;
+
+/**
+ * An entry read back from a {@link JournalSegment}, with the offset of the entry that follows it.
+ */
+record JournalEntry(long sequence, byte[] payload, int nextOffset) {
+}
@@ -0,0 +1,172 @@
+package tacos.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped journal file. Entries are laid out back to back from the start of the file:
+ * <pre>
+ * int length | long sequence | int CRC32C of the payload | payload
+ * </pre>
+ * The file starts out zeroed, so a zero length marks the end. The length is written last, after the rest of the entry,
+ * and a reader only looks at entries below the published end, so it never sees half an entry.
+ * <p>
+ * Appends are serialized by the {@link OrderJournal}; reads and {@link #force()} may come from any thread.
+ */
+final class JournalSegment {
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final String PREFIX = "orders-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path file;
+    private final long firstSequence;
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+    private volatile int published;
+    private int forced;
+
+    private JournalSegment(Path file, long firstSequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        return map(directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX)), firstSequence, size);
+    }
+
+    /**
+     * Maps an existing segment and finds its end: the first entry that is missing, torn or out of sequence. Whatever
+     * was written from there on, e.g. half an entry from a crash during an append, is zeroed so new entries can
+     * follow.
+     */
+    static JournalSegment open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long firstSequence = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        JournalSegment segment = map(file, firstSequence, 0);
+        segment.recover();
+        return segment;
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static JournalSegment map(Path file, long firstSequence, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = Math.max(size, channel.size());
+            return new JournalSegment(file, firstSequence, channel.map(MapMode.READ_WRITE, 0, length));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * Sequence of the last complete entry, or one less than the first sequence if there is none.
+     */
+    long lastSequence() {
+        long last = firstSequence - 1;
+        for (JournalEntry entry = read(0); entry != null; entry = read(entry.nextOffset())) {
+            last = entry.sequence();
+        }
+        return last;
+    }
+
+    /**
+     * Appends an entry, unless it does not fit in what is left of the segment.
+     */
+    boolean append(long sequence, byte[] payload) {
+        int position = writePosition;
+        if ((long) position + HEADER_SIZE + payload.length > buffer.capacity()) {
+            return false;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.putLong(position + Integer.BYTES, sequence);
+        buffer.putInt(position + Integer.BYTES + Long.BYTES, (int) crc.getValue());
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position, payload.length);
+
+        writePosition = position + HEADER_SIZE + payload.length;
+        published = writePosition;
+        return true;
+    }
+
+    /**
+     * Reads the entry at the given offset, or returns {@code null} if no complete entry has been published there.
+     */
+    JournalEntry read(int offset) {
+        if (offset + HEADER_SIZE > published) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        long sequence = buffer.getLong(offset + Integer.BYTES);
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_SIZE, payload);
+        return new JournalEntry(sequence, payload, offset + HEADER_SIZE + length);
+    }
+
+    /**
+     * Forces everything published so far to disk. Callers that find their entry already forced by someone else return
+     * at once, so appends waiting here share a single force.
+     */
+    synchronized void force() {
+        int upTo = published;
+        if (upTo > forced) {
+            buffer.force(forced, upTo - forced);
+            forced = upTo;
+        }
+    }
+
+    private void recover() {
+        int position = 0;
+        long expected = firstSequence;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || (long) position + HEADER_SIZE + length > buffer.capacity()
+                    || buffer.getLong(position + Integer.BYTES) != expected
+                    || buffer.getInt(position + Integer.BYTES + Long.BYTES) != crcOf(position + HEADER_SIZE, length)) {
+                break;
+            }
+            position += HEADER_SIZE + length;
+            expected++;
+        }
+
+        if (position + HEADER_SIZE <= buffer.capacity() && buffer.getInt(position) != 0) {
+            int length = buffer.getInt(position);
+            long tornEnd = length > 0 ? Math.min(buffer.capacity(), (long) position + HEADER_SIZE + length)
+                    : buffer.capacity();
+            for (int i = position; i < tornEnd; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+
+        writePosition = position;
+        published = position;
+        forced = position;
+    }
+
+    private int crcOf(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+}
@@ -0,0 +1,138 @@
+package tacos.journal;
+
+import tacos.Ingredient;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What the journal keeps of a placed order: the delivery details, the card number and expiry, when it was placed, and
+ * each taco as its name and ingredient ids. The card's CVV is never written to the segment files, so orders saved
+ * from the journal have none.
+ */
+record JournaledOrder(String deliveryName, String deliveryStreet, String deliveryCity, String deliveryState,
+                      String deliveryZip, String ccNumber, String ccExpiration, long placedAt,
+                      List<JournaledTaco> tacos) {
+
+    static JournaledOrder of(TacoOrder order) {
+        List<JournaledTaco> tacos = new ArrayList<>(order.getTacos().size());
+        for (Taco taco : order.getTacos()) {
+            List<String> ingredientIds = taco.getIngredients().stream()
+                    .filter(Objects::nonNull)
+                    .map(Ingredient::getId)
+                    .toList();
+            tacos.add(new JournaledTaco(taco.getName(), ingredientIds));
+        }
+        return new JournaledOrder(order.getDeliveryName(), order.getDeliveryStreet(), order.getDeliveryCity(),
+                order.getDeliveryState(), order.getDeliveryZip(), order.getCcNumber(), order.getCcExpiration(),
+                order.getPlacedAt().getTime(), tacos);
+    }
+
+    /**
+     * Rebuilds the order to be saved, resolving ingredients through the catalog. Ingredients that no longer exist are
+     * left out.
+     */
+    TacoOrder toTacoOrder(IngredientCatalog ingredientCatalog) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(deliveryName);
+        order.setDeliveryStreet(deliveryStreet);
+        order.setDeliveryCity(deliveryCity);
+        order.setDeliveryState(deliveryState);
+        order.setDeliveryZip(deliveryZip);
+        order.setCcNumber(ccNumber);
+        order.setCcExpiration(ccExpiration);
+        order.setPlacedAt(new Date(placedAt));
+        for (JournaledTaco journaled : tacos) {
+            Taco taco = new Taco();
+            taco.setName(journaled.name());
+            List<Ingredient> ingredients = new ArrayList<>(ingredientCatalog.findAllById(journaled.ingredientIds()));
+            ingredients.removeIf(Objects::isNull);
+            taco.setIngredients(ingredients);
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeNullable(out, deliveryName);
+            writeNullable(out, deliveryStreet);
+            writeNullable(out, deliveryCity);
+            writeNullable(out, deliveryState);
+            writeNullable(out, deliveryZip);
+            writeNullable(out, ccNumber);
+            writeNullable(out, ccExpiration);
+            out.writeLong(placedAt);
+            out.writeShort(tacos.size());
+            for (JournaledTaco taco : tacos) {
+                writeNullable(out, taco.name());
+                out.writeShort(taco.ingredientIds().size());
+                for (String id : taco.ingredientIds()) {
+                    out.writeUTF(id);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws UncheckedIOException if the payload is not an encoded order
+     */
+    static JournaledOrder decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String deliveryName = readNullable(in);
+            String deliveryStreet = readNullable(in);
+            String deliveryCity = readNullable(in);
+            String deliveryState = readNullable(in);
+            String deliveryZip = readNullable(in);
+            String ccNumber = readNullable(in);
+            String ccExpiration = readNullable(in);
+            long placedAt = in.readLong();
+            int tacoCount = in.readUnsignedShort();
+            List<JournaledTaco> tacos = new ArrayList<>(tacoCount);
+            for (int i = 0; i < tacoCount; i++) {
+                String name = readNullable(in);
+                int ingredientCount = in.readUnsignedShort();
+                List<String> ingredientIds = new ArrayList<>(ingredientCount);
+                for (int j = 0; j < ingredientCount; j++) {
+                    ingredientIds.add(in.readUTF());
+                }
+                tacos.add(new JournaledTaco(name, ingredientIds));
+            }
+            return new JournaledOrder(deliveryName, deliveryStreet, deliveryCity, deliveryState, deliveryZip,
+                    ccNumber, ccExpiration, placedAt, tacos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not a journaled order", e);
+        }
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    record JournaledTaco(String name, List<String> ingredientIds) {
+    }
+}
@@ -0,0 +1,245 @@
+package tacos.journal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import tacos.TacoOrder;
+import tacos.journal.OrderJournalProps.Fsync;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of placed orders in memory-mapped segment files, each entry numbered with the next sequence.
+ * <p>
+ * {@link #append(TacoOrder)} returns once the order is as durable as the {@link Fsync} policy asks for; the
+ * {@link OrderJournalApplier} then reads the entries back in order and saves them to the database. Segments are
+ * deleted once every order in them has been saved.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.orders.journal.enabled", havingValue = "true")
+public class OrderJournal implements AutoCloseable {
+    private final Path directory;
+    private final int segmentSize;
+    private final Fsync fsync;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService periodicFsync;
+
+    private final Timer appendLatency;
+
+    private JournalSegment current;
+    private volatile long lastSequence;
+
+    public OrderJournal(OrderJournalProps props, MeterRegistry meterRegistry) throws IOException {
+        this.directory = props.getDirectory();
+        this.segmentSize = Math.toIntExact(props.getSegmentSize().toBytes());
+        this.fsync = props.getFsync();
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(JournalSegment::isSegment).sorted(Comparator.naturalOrder()).toList()) {
+                segments.add(JournalSegment.open(file));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(JournalSegment.create(directory, 1, segmentSize));
+        }
+        this.current = segments.get(segments.size() - 1);
+        this.lastSequence = current.lastSequence();
+        log.info("Opened order journal in {} with {} segments, last entry {}", directory, segments.size(), lastSequence);
+
+        this.appendLatency = Timer.builder("taco.orders.journal.append")
+                .description("Time taken to append an order to the journal, including waiting for the fsync policy")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("taco.orders.journal.segments", segments, List::size)
+                .description("Journal segment files not yet fully applied to the database")
+                .register(meterRegistry);
+
+        if (fsync == Fsync.PERIODIC) {
+            this.periodicFsync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "order-journal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = props.getFsyncInterval().toNanos();
+            periodicFsync.scheduleWithFixedDelay(this::forceCurrent, interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            this.periodicFsync = null;
+        }
+    }
+
+    /**
+     * Appends the order, stamping it as placed now if it has no date yet, and blocks until the fsync policy is met.
+     *
+     * @return the sequence of the new entry
+     */
+    public long append(TacoOrder order) {
+        long start = System.nanoTime();
+        if (order.getPlacedAt() == null) {
+            order.setPlacedAt(new Date());
+        }
+        byte[] payload = JournaledOrder.of(order).encode();
+
+        JournalSegment segment;
+        long sequence;
+        synchronized (this) {
+            sequence = lastSequence + 1;
+            if (!current.append(sequence, payload)) {
+                rotate(sequence);
+                if (!current.append(sequence, payload)) {
+                    throw new IllegalArgumentException("Order of " + payload.length
+                            + " bytes does not fit in a journal segment");
+                }
+            }
+            segment = current;
+            lastSequence = sequence;
+        }
+
+        if (fsync == Fsync.ALWAYS) {
+            segment.force();
+        }
+        appendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return sequence;
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Makes the next entry follow the given sequence if the journal ends before it, e.g. because the directory was lost
+     * or replaced after its orders had been saved. New entries would otherwise reuse sequences that the checkpoint
+     * already covers, and be skipped as applied.
+     */
+    synchronized void continueAfter(long sequence) {
+        if (sequence <= lastSequence) {
+            return;
+        }
+        log.warn("Order journal in {} ends at entry {} but entries up to {} have been applied, continuing from {}",
+                directory, lastSequence, sequence, sequence + 1);
+        rotate(sequence + 1);
+        lastSequence = sequence;
+    }
+
+    /**
+     * Starts reading the entries that follow the given sequence.
+     */
+    Reader reader(long afterSequence) {
+        return new Reader(afterSequence);
+    }
+
+    /**
+     * Deletes the segments holding only entries up to the given sequence. The segment being appended to is kept.
+     */
+    synchronized void deleteAppliedSegments(long appliedSequence) {
+        while (segments.size() > 1 && segments.get(1).firstSequence() - 1 <= appliedSequence) {
+            JournalSegment applied = segments.remove(0);
+            try {
+                Files.deleteIfExists(applied.file());
+                log.debug("Deleted applied journal segment {}", applied.file());
+            } catch (IOException e) {
+                log.warn("Could not delete applied journal segment {}", applied.file(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        if (periodicFsync != null) {
+            periodicFsync.shutdownNow();
+        }
+        forceCurrent();
+    }
+
+    private void rotate(long nextSequence) {
+        current.force();
+        try {
+            current = JournalSegment.create(directory, nextSequence, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start a new journal segment", e);
+        }
+        segments.add(current);
+    }
+
+    private void forceCurrent() {
+        JournalSegment segment;
+        synchronized (this) {
+            segment = current;
+        }
+        segment.force();
+    }
+
+    private JournalSegment segmentAfter(JournalSegment segment) {
+        for (JournalSegment candidate : segments) {
+            if (candidate.firstSequence() > segment.firstSequence()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cursor over the journal for a single reader, moving on to the next segment once it has read to the end of one
+     * that was rotated away from.
+     */
+    class Reader {
+        private final long afterSequence;
+        private JournalSegment segment;
+        private int offset;
+
+        private Reader(long afterSequence) {
+            this.afterSequence = afterSequence;
+            this.segment = segments.get(0);
+            for (JournalSegment candidate : segments) {
+                if (candidate.firstSequence() <= afterSequence + 1) {
+                    segment = candidate;
+                }
+            }
+        }
+
+        /**
+         * Returns up to {@code max} entries appended since the last call, or none if the reader is caught up.
+         */
+        List<JournalEntry> next(int max) {
+            List<JournalEntry> entries = new ArrayList<>(max);
+            while (entries.size() < max) {
+                JournalEntry entry = segment.read(offset);
+                if (entry == null) {
+                    // Nothing more will be appended here once a later segment exists
+                    JournalSegment following = segmentAfter(segment);
+                    if (following == null || segment.read(offset) != null) {
+                        break;
+                    }
+                    segment = following;
+                    offset = 0;
+                    continue;
+                }
+                offset = entry.nextOffset();
+                if (entry.sequence() > afterSequence) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package tacos.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tacos.OrderJournalCheckpoint;
+import tacos.TacoOrder;
+import tacos.analytics.IngredientPopularity;
+import tacos.data.IngredientCatalog;
+import tacos.data.OrderJournalCheckpointRepository;
+import tacos.data.OrderRepository;
+import tacos.data.RecipeInterner;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the orders in the {@link OrderJournal} to the database on a dedicated thread, a batch of entries per
+ * transaction.
+ * <p>
+ * Each transaction also moves the {@link OrderJournalCheckpoint} to the last entry in it, so after a crash, at any
+ * point, the applier picks up right after the last committed entry: every journaled order is saved exactly once, and
+ * counted in the {@link IngredientPopularity} once its transaction has committed. An entry the database will never
+ * accept is logged, counted and skipped; any other failure is retried after {@code retry-delay}.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.orders.journal.enabled", havingValue = "true")
+public class OrderJournalApplier {
+    private final OrderJournal journal;
+    private final OrderRepository orderRepo;
+    private final OrderJournalCheckpointRepository checkpointRepo;
+    private final IngredientCatalog ingredientCatalog;
+    private final RecipeInterner recipeInterner;
+    private final IngredientPopularity ingredientPopularity;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderJournalProps props;
+
+    private final Counter applied;
+    private final Counter rejected;
+
+    private final Thread applierThread;
+    private volatile boolean running = true;
+
+    private OrderJournal.Reader reader;
+    private volatile long appliedSequence = -1;
+    private final List<JournalEntry> pending = new ArrayList<>();
+
+    public OrderJournalApplier(OrderJournal journal, OrderRepository orderRepo,
+                               OrderJournalCheckpointRepository checkpointRepo, IngredientCatalog ingredientCatalog,
+                               RecipeInterner recipeInterner, IngredientPopularity ingredientPopularity,
+                               PlatformTransactionManager transactionManager, OrderJournalProps props,
+                               MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.orderRepo = orderRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.ingredientCatalog = ingredientCatalog;
+        this.recipeInterner = recipeInterner;
+        this.ingredientPopularity = ingredientPopularity;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.props = props;
+
+        this.applied = Counter.builder("taco.orders.journal.applied")
+                .description("Journaled orders saved to the database")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("taco.orders.journal.rejected")
+                .description("Journaled orders skipped because the database would never accept them")
+                .register(meterRegistry);
+        Gauge.builder("taco.orders.journal.lag", this, OrderJournalApplier::lag)
+                .description("Journaled orders not yet saved to the database")
+                .register(meterRegistry);
+
+        this.applierThread = new Thread(this::run, "order-journal-applier");
+        this.applierThread.setDaemon(true);
+    }
+
+    /**
+     * Reads the checkpoint and positions the reader after it. Runs before the web server starts, so that the journal
+     * is moved past the checkpoint before any order is appended to it.
+     */
+    @PostConstruct
+    void open() {
+        appliedSequence = checkpointRepo.findById(OrderJournalCheckpoint.ID)
+                .map(OrderJournalCheckpoint::getAppliedSequence)
+                .orElse(0L);
+        journal.continueAfter(appliedSequence);
+        journal.deleteAppliedSegments(appliedSequence);
+        if (journal.lastSequence() > appliedSequence) {
+            log.info("Replaying order journal entries {} to {}", appliedSequence + 1, journal.lastSequence());
+        }
+        reader = journal.reader(appliedSequence);
+    }
+
+    // Once the application is ready, so the ingredients the orders refer to have been loaded
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        applierThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        applierThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Saves the next batch of journaled orders, first {@link #open() opening} the journal if that has not happened.
+     *
+     * @return the number of entries applied or skipped, zero if the database is caught up with the journal
+     * @throws RuntimeException if the database failed; the same entries are tried again on the next call
+     */
+    int applyNext() {
+        if (reader == null) {
+            open();
+        }
+
+        // Entries committed one by one before a failure are not applied again
+        pending.removeIf(entry -> entry.sequence() <= appliedSequence);
+        if (pending.isEmpty()) {
+            pending.addAll(reader.next(props.getApplyBatchSize()));
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        int count = pending.size();
+        apply(pending);
+        pending.clear();
+        journal.deleteAppliedSegments(appliedSequence);
+        return count;
+    }
+
+    public long lag() {
+        return appliedSequence < 0 ? 0 : journal.lastSequence() - appliedSequence;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (applyNext() == 0) {
+                    Thread.sleep(10);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Applying the order journal failed, retrying in {}", props.getRetryDelay(), e);
+                try {
+                    Thread.sleep(props.getRetryDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(List<JournalEntry> batch) {
+        try {
+            save(batch);
+        } catch (RuntimeException e) {
+            if (!isRejected(e)) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                skip(batch.get(0), e);
+                return;
+            }
+
+            // Don't let one bad order hold up everyone else's; retry the batch one entry per transaction
+            log.warn("Applying {} journal entries failed, applying them one by one", batch.size(), e);
+            for (JournalEntry entry : batch) {
+                apply(List.of(entry));
+            }
+        }
+    }
+
+    private void save(List<JournalEntry> batch) {
+        long last = batch.get(batch.size() - 1).sequence();
+        List<TacoOrder> orders = batch.stream()
+                .map(entry -> JournaledOrder.decode(entry.payload()).toTacoOrder(ingredientCatalog))
+                .toList();
+        // Before the transaction opens, see RecipeInterner
+        orders.forEach(recipeInterner::assignRecipes);
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepo.saveAll(orders);
+            checkpointRepo.save(new OrderJournalCheckpoint(last));
+            orders.forEach(ingredientPopularity::recordOrder);
+        });
+        appliedSequence = last;
+        applied.increment(batch.size());
+    }
+
+    private void skip(JournalEntry entry, RuntimeException cause) {
+        log.error("Skipping order journal entry {} that the database rejected", entry.sequence(), cause);
+        transactionTemplate.executeWithoutResult(status ->
+                checkpointRepo.save(new OrderJournalCheckpoint(entry.sequence())));
+        appliedSequence = entry.sequence();
+        rejected.increment();
+    }
+
+    private static boolean isRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException
+                    || cause instanceof UncheckedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package tacos.journal;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.orders.journal")
+@Validated
+public class OrderJournalProps {
+    /**
+     * Whether placed orders are acknowledged once appended to the {@link OrderJournal}, and saved to the database in
+     * the background by the {@link OrderJournalApplier}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Where the segment files are kept; it must survive restarts for unapplied orders to be replayed.
+     */
+    @NotNull
+    private Path directory = Path.of("journal");
+
+    /**
+     * Size of each memory-mapped segment file; a new one is started when an order no longer fits.
+     */
+    @NotNull
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    @NotNull
+    private Fsync fsync = Fsync.ALWAYS;
+
+    /**
+     * How often the journal is forced to disk when {@link #fsync} is {@link Fsync#PERIODIC}.
+     */
+    @NotNull
+    private Duration fsyncInterval = Duration.ofMillis(10);
+
+    @Min(value = 1, message = "Apply batch size must be at least 1")
+    private int applyBatchSize = 100;
+
+    /**
+     * How long the applier waits before retrying after the database failed.
+     */
+    @NotNull
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    public enum Fsync {
+        /**
+         * Acknowledge an order only once it has been forced to disk; orders appended at the same time share a force.
+         */
+        ALWAYS,
+        /**
+         * Acknowledge as soon as the order is in the mapped file, which survives the process crashing, and force it to
+         * disk every {@code fsync-interval}; a power loss can lose the orders of the last interval.
+         */
+        PERIODIC
+    }
+}
@@ -0,0 +1,337 @@
+package tacos.kitchen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes committed orders to kitchen displays as Server-Sent Events.
+ * <p>
+ * Orders are serialized once and put in a ring buffer shared by every display; each display only has a cursor into
+ * it. {@link #publish(KitchenOrder)} writes the next slot and wakes the dispatcher thread, so placing an order never
+ * waits on a display. The dispatcher hands each display that is behind to one of a few sender threads, which write its
+ * events from the cursor up to the latest one.
+ * <p>
+ * A display whose cursor is overtaken by the ring gets a {@code resync} event and carries on from the latest order;
+ * it should reload what it shows from {@code /api/orders}. A display that blocks a single write for longer than
+ * {@code slow-consumer-timeout} is dropped. Its write only gives up once the container's write timeout closes the
+ * connection, so until then an extra sender thread stands in for the one stuck in it. Event ids carry the sequence of
+ * the order and the start of this process, so a display reconnecting with {@code Last-Event-ID} gets exactly the
+ * orders it missed, or a {@code resync} if they are no longer in the ring or were published before a restart.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.kitchen.feed.enabled", havingValue = "true")
+public class KitchenFeed {
+    private static final long MAX_TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectMapper objectMapper;
+    private final KitchenFeedProps props;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Event[] ring;
+    private final int mask;
+    private volatile long published;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final Thread dispatcher;
+    private final long tickNanos;
+    private volatile boolean running = true;
+
+    private final Counter publishedOrders;
+    private final Counter resyncs;
+    private final Counter dropped;
+
+    public KitchenFeed(ObjectMapper objectMapper, KitchenFeedProps props, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.props = props;
+        int capacity = Integer.highestOneBit(props.getCapacity() - 1) << 1;
+        this.ring = new Event[capacity];
+        this.mask = capacity - 1;
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(props.getSenderThreads(), props.getSenderThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "kitchen-feed-sender-" + senderIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tickNanos = Math.min(MAX_TICK_NANOS, Math.min(props.getHeartbeatInterval().toNanos(),
+                props.getSlowConsumerTimeout().toNanos()) / 2);
+        this.dispatcher = new Thread(this::dispatch, "kitchen-feed-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+
+        Gauge.builder("taco.kitchen.feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Kitchen displays connected to the order feed")
+                .register(meterRegistry);
+        this.publishedOrders = Counter.builder("taco.kitchen.feed.published")
+                .description("Committed orders put on the kitchen feed")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("taco.kitchen.feed.resyncs")
+                .description("Kitchen displays told to resync after missing orders")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("taco.kitchen.feed.dropped")
+                .description("Kitchen displays disconnected for being too slow or failing")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.sending) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Puts the order on the feed. Only serializes it and fills a slot; displays are written to by other threads.
+     */
+    public void publish(KitchenOrder order) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            log.error("Could not put order {} on the kitchen feed", order.id(), e);
+            return;
+        }
+
+        synchronized (this) {
+            long sequence = published + 1;
+            ring[(int) (sequence & mask)] = new Event(sequence, data);
+            published = sequence;
+        }
+        publishedOrders.increment();
+        LockSupport.unpark(dispatcher);
+    }
+
+    /**
+     * Connects a display, sending the orders after {@code lastEventId} first when they are still in the ring.
+     *
+     * @param lastEventId the id of the last event the display received, or {@code null} to start with the next order
+     * @throws KitchenFeedFullException if {@code max-subscribers} displays are already connected
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(props.getConnectionTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > props.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new KitchenFeedFullException();
+        }
+
+        long head = published;
+        Subscriber subscriber = new Subscriber(emitter, head + 1);
+        if (lastEventId != null) {
+            long resumeAfter = resumePoint(lastEventId);
+            if (resumeAfter >= 0 && resumeAfter <= head && head - resumeAfter <= ring.length) {
+                subscriber.next = resumeAfter + 1;
+            } else {
+                subscriber.resync = true;
+            }
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        LockSupport.unpark(dispatcher);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence a Last-Event-ID from this process stands for, or -1 if it is from another one
+    private long resumePoint(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            LockSupport.parkNanos(this, tickNanos);
+            long now = System.nanoTime();
+            long head = published;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.sending) {
+                    if (now - subscriber.sendStartedAt > props.getSlowConsumerTimeout().toNanos()) {
+                        log.info("Dropping kitchen display that has been blocking a write for over {}",
+                                props.getSlowConsumerTimeout());
+                        drop(subscriber);
+                        abandon(subscriber);
+                    }
+                    continue;
+                }
+                boolean heartbeatDue = now - subscriber.lastSentAt > props.getHeartbeatInterval().toNanos();
+                if (subscriber.next <= head || subscriber.resync || heartbeatDue) {
+                    subscriber.sending = true;
+                    subscriber.sendStartedAt = now;
+                    try {
+                        senders.execute(() -> send(subscriber));
+                    } catch (RuntimeException e) {
+                        subscriber.sending = false;
+                    }
+                }
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            boolean sent = false;
+            if (subscriber.resync) {
+                resync(subscriber);
+                sent = true;
+            }
+            while (subscriber.next <= published && subscribers.contains(subscriber)) {
+                Event event = ring[(int) (subscriber.next & mask)];
+                if (event == null || event.sequence != subscriber.next) {
+                    // Overtaken by the ring while behind
+                    resync(subscriber);
+                    sent = true;
+                    continue;
+                }
+                subscriber.sendStartedAt = System.nanoTime();
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventId(event.sequence))
+                        .name("order")
+                        .data(event.data));
+                subscriber.next++;
+                sent = true;
+            }
+            if (!subscribers.contains(subscriber)) {
+                subscriber.emitter.complete();
+                return;
+            }
+            if (!sent) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.lastSentAt = System.nanoTime();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Kitchen display went away", e);
+            drop(subscriber);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sending = false;
+                if (subscriber.abandoned) {
+                    subscriber.abandoned = false;
+                    resizeSenders(-1);
+                }
+            }
+            if (subscriber.next <= published) {
+                LockSupport.unpark(dispatcher);
+            }
+        }
+    }
+
+    private void resync(Subscriber subscriber) throws IOException {
+        resyncs.increment();
+        subscriber.resync = false;
+        subscriber.next = published + 1;
+        subscriber.sendStartedAt = System.nanoTime();
+        subscriber.emitter.send(SseEmitter.event()
+                .id(eventId(subscriber.next - 1))
+                .name("resync")
+                .data("{}"));
+    }
+
+    // Completing the emitter waits for a write in progress, so a blocked sender completes it once its write returns
+    private void drop(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            dropped.increment();
+        }
+    }
+
+    // Adds a sender in place of the one blocked on a dropped display, taken away again once its write returns
+    private void abandon(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.sending && !subscriber.abandoned) {
+                subscriber.abandoned = true;
+                resizeSenders(1);
+            }
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = senders.getCorePoolSize() + delta;
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    int senderThreads() {
+        return senders.getCorePoolSize();
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private record Event(long sequence, String data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Only changed by the sender thread currently writing to this display
+        private long next;
+        private boolean resync;
+        private volatile boolean sending;
+        // Dropped while blocked in a write, guarded by the subscriber
+        private boolean abandoned;
+        private volatile long sendStartedAt;
+        private volatile long lastSentAt = System.nanoTime();
+
+        Subscriber(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+        }
+    }
+}
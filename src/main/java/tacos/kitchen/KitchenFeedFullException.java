@@ -0,0 +1,7 @@
+package tacos.kitchen;
+
+public class KitchenFeedFullException extends RuntimeException {
+    public KitchenFeedFullException() {
+        super("Too many kitchen displays are connected, please try again shortly");
+    }
+}
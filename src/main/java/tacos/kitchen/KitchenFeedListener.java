@@ -0,0 +1,39 @@
+package tacos.kitchen;
+
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tacos.TacoOrder;
+
+/**
+ * JPA entity listener that hands each new {@link TacoOrder} to the {@link KitchenFeed} once it has been committed, so
+ * orders saved by the order form, the JSON API, the group commit writer or the journal applier all reach the
+ * displays, and rolled back ones never do.
+ */
+public class KitchenFeedListener {
+    private final ObjectProvider<KitchenFeed> feed;
+
+    public KitchenFeedListener(ObjectProvider<KitchenFeed> feed) {
+        this.feed = feed;
+    }
+
+    @PostPersist
+    public void orderSaved(TacoOrder order) {
+        feed.ifAvailable(kitchenFeed -> publishAfterCommit(kitchenFeed, KitchenOrder.of(order)));
+    }
+
+    private void publishAfterCommit(KitchenFeed feed, KitchenOrder order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            feed.publish(order);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                feed.publish(order);
+            }
+        });
+    }
+}
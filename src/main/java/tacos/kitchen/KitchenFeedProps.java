@@ -0,0 +1,56 @@
+package tacos.kitchen;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.kitchen.feed")
+@Validated
+public class KitchenFeedProps {
+    /**
+     * Whether committed orders are pushed to kitchen displays by the {@link KitchenFeed}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Orders kept for displays to catch up on, rounded up to a power of two. A display that falls further behind, or
+     * resumes from an event older than that, is told to resync.
+     */
+    @Min(value = 16, message = "Feed capacity must be at least 16")
+    private int capacity = 1024;
+
+    @Min(value = 1, message = "Max subscribers must be at least 1")
+    private int maxSubscribers = 500;
+
+    /**
+     * Threads writing events to displays. A display that blocks on a write only holds up one of them, and once it is
+     * dropped an extra thread takes over until that write gives up.
+     */
+    @Min(value = 1, message = "Sender threads must be at least 1")
+    private int senderThreads = 8;
+
+    /**
+     * How often an idle display gets a comment line, so proxies keep the connection open and dead ones are noticed.
+     */
+    @NotNull
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long a single write to a display may take before the display is dropped.
+     */
+    @NotNull
+    private Duration slowConsumerTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long a display stays connected before it has to reconnect, resuming with {@code Last-Event-ID}.
+     */
+    @NotNull
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+}
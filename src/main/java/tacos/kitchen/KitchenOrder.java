@@ -0,0 +1,27 @@
+package tacos.kitchen;
+
+import tacos.Ingredient;
+import tacos.TacoOrder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What a kitchen display needs to know of a committed order: its id and what goes into each taco.
+ */
+public record KitchenOrder(Long id, Date placedAt, List<KitchenTaco> tacos) {
+
+    static KitchenOrder of(TacoOrder order) {
+        List<KitchenTaco> tacos = order.getTacos().stream()
+                .map(taco -> new KitchenTaco(taco.getName(), taco.getIngredients().stream()
+                        .filter(Objects::nonNull)
+                        .map(Ingredient::getId)
+                        .toList()))
+                .toList();
+        return new KitchenOrder(order.getId(), order.getPlacedAt(), tacos);
+    }
+
+    public record KitchenTaco(String name, List<String> ingredients) {
+    }
+}
@@ -0,0 +1,103 @@
+package tacos.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets through at most {@code eventsPerSecond} DEBUG and TRACE events per second for each of the configured logger
+ * prefixes and drops the rest, so per-request debug output and SQL logging can stay on in production without their
+ * cost growing with traffic. Dropped events are rejected before their message is formatted. INFO and above, other
+ * loggers and {@code isDebugEnabled()} checks are left to the usual level rules.
+ * <pre>
+ * &lt;turboFilter class="tacos.logging.SamplingTurboFilter"&gt;
+ *     &lt;loggers&gt;tacos.web, org.hibernate.SQL&lt;/loggers&gt;
+ *     &lt;eventsPerSecond&gt;10&lt;/eventsPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<Window> windows = new ArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+    private int eventsPerSecond = 10;
+
+    public void setLoggers(String loggers) {
+        windows.clear();
+        for (String prefix : loggers.split(",")) {
+            if (!prefix.isBlank()) {
+                windows.add(new Window(prefix.trim()));
+            }
+        }
+    }
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (format == null || level.isGreaterOrEqual(Level.INFO) || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windowFor(logger.getName());
+        if (window == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (window.tryRecord(System.nanoTime())) {
+            return FilterReply.NEUTRAL;
+        }
+        dropped.increment();
+        return FilterReply.DENY;
+    }
+
+    private Window windowFor(String loggerName) {
+        for (Window window : windows) {
+            if (loggerName.startsWith(window.prefix)
+                    && (loggerName.length() == window.prefix.length()
+                    || loggerName.charAt(window.prefix.length()) == '.')) {
+                return window;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts events in fixed one-second windows without a lock: the thread that first sees a window expire moves its
+     * start with a CAS and resets the count. Increments that race the reset are forgotten, so a few extra events may
+     * get through at a window boundary.
+     */
+    private final class Window {
+        private final String prefix;
+        private final AtomicLong start = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(String prefix) {
+            this.prefix = prefix;
+        }
+
+        boolean tryRecord(long now) {
+            long windowStart = start.get();
+            if ((windowStart == Long.MIN_VALUE || now - windowStart >= SECOND)
+                    && start.compareAndSet(windowStart, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= eventsPerSecond;
+        }
+    }
+}
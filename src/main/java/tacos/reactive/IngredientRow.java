@@ -0,0 +1,12 @@
+package tacos.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import tacos.Ingredient.Type;
+
+/**
+ * An {@code Ingredient} row as read through R2DBC, which cannot map the JPA entity.
+ */
+@Table("Ingredient")
+public record IngredientRow(@Id String id, String name, Type type) {
+}
@@ -0,0 +1,6 @@
+package tacos.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+public interface IngredientRowRepository extends R2dbcRepository<IngredientRow, String> {
+}
@@ -0,0 +1,59 @@
+package tacos.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import tacos.Ingredient.Type;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The reactive profile's counterpart of {@code IngredientCatalog}: one query loads the ingredient table and the
+ * result is shared by every subscriber for {@link #TTL}. There is no JPA listener here to say when ingredients change,
+ * so the snapshot simply expires.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveIngredientCatalog {
+    static final Duration TTL = Duration.ofSeconds(30);
+
+    private final Mono<Snapshot> snapshot;
+
+    public ReactiveIngredientCatalog(IngredientRowRepository ingredientRepo) {
+        this.snapshot = ingredientRepo.findAll()
+                .collectList()
+                .map(ReactiveIngredientCatalog::snapshot)
+                .cache(TTL);
+    }
+
+    public Mono<Map<Type, List<IngredientRow>>> byType() {
+        return snapshot.map(Snapshot::byType);
+    }
+
+    public Mono<Map<String, IngredientRow>> byId() {
+        return snapshot.map(Snapshot::byId);
+    }
+
+    private static Snapshot snapshot(List<IngredientRow> ingredients) {
+        Map<Type, List<IngredientRow>> grouped = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            grouped.put(type, new ArrayList<>());
+        }
+        Map<String, IngredientRow> byId = new HashMap<>();
+        for (IngredientRow ingredient : ingredients) {
+            grouped.get(ingredient.type()).add(ingredient);
+            byId.put(ingredient.id(), ingredient);
+        }
+        grouped.replaceAll((type, rows) -> List.copyOf(rows));
+        return new Snapshot(Collections.unmodifiableMap(grouped), Map.copyOf(byId));
+    }
+
+    private record Snapshot(Map<Type, List<IngredientRow>> byType, Map<String, IngredientRow> byId) {
+    }
+}
@@ -0,0 +1,62 @@
+package tacos.reactive;
+
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import tacos.Ingredient.Type;
+import tacos.web.api.OrderCreated;
+import tacos.web.api.OrderSubmission;
+import tacos.web.api.TacoSubmission;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ingredient listing and order submission of the JSON API on WebFlux and R2DBC. Same requests and responses as
+ * {@code IngredientApiController} and {@code OrderApiController} on the servlet stack, but no thread is held while
+ * an order waits for the database.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/api", produces = "application/json")
+public class ReactiveOrderController {
+    private final ReactiveIngredientCatalog ingredientCatalog;
+    private final ReactiveOrderWriter orderWriter;
+
+    public ReactiveOrderController(ReactiveIngredientCatalog ingredientCatalog, ReactiveOrderWriter orderWriter) {
+        this.ingredientCatalog = ingredientCatalog;
+        this.orderWriter = orderWriter;
+    }
+
+    @GetMapping("/ingredients")
+    public Mono<Map<Type, List<IngredientRow>>> ingredients() {
+        return ingredientCatalog.byType();
+    }
+
+    @PostMapping(path = "/orders", consumes = "application/json")
+    public Mono<ResponseEntity<OrderCreated>> submitOrder(@Valid @RequestBody Mono<OrderSubmission> submission) {
+        return submission
+                .flatMap(order -> ingredientCatalog.byId()
+                        .flatMap(byId -> {
+                            for (TacoSubmission taco : order.tacos()) {
+                                for (String id : taco.ingredients()) {
+                                    if (!byId.containsKey(id)) {
+                                        return Mono.<Long>error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                                "Unknown ingredient: " + id));
+                                    }
+                                }
+                            }
+                            return orderWriter.save(order);
+                        })
+                        .map(id -> ResponseEntity.status(HttpStatus.CREATED)
+                                .body(new OrderCreated(id, order.tacos().size()))));
+    }
+}
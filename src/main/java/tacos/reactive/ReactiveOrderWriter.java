@@ -0,0 +1,119 @@
+package tacos.reactive;
+
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tacos.Recipe;
+import tacos.web.api.OrderSubmission;
+import tacos.web.api.TacoSubmission;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Saves a submitted order into the same tables the JPA entities map, in one transaction and without blocking: the
+ * order row, then the tacos and their link to the order, each as a single batched statement. Each taco points at the
+ * shared recipe for its ingredients, see {@link ReactiveRecipeInterner}.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveOrderWriter {
+    // Must match the increment of the sequences in schema.sql
+    static final int SEQUENCE_BLOCK_SIZE = 50;
+
+    private static final String INSERT_ORDER = """
+            insert into Taco_Order (id, delivery_name, delivery_street, delivery_city, delivery_state, delivery_zip,
+                                    cc_number, cc_expiration, cc_cvv, placed_at)
+            values (:id, :deliveryName, :deliveryStreet, :deliveryCity, :deliveryState, :deliveryZip,
+                    :ccNumber, :ccExpiration, :ccCvv, :placedAt)""";
+    // Batches go straight to the driver, so they use H2's native bind markers
+    private static final String INSERT_TACO =
+            "insert into Taco (id, name, created_at, recipe_id, ingredient_order) values ($1, $2, $3, $4, $5)";
+    private static final String INSERT_ORDER_TACO =
+            "insert into Taco_Order_Tacos (taco_order_id, tacos_id) values ($1, $2)";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveRecipeInterner recipeInterner;
+    private final SequenceIdAllocator orderIds;
+    private final SequenceIdAllocator tacoIds;
+
+    public ReactiveOrderWriter(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                               ReactiveRecipeInterner recipeInterner) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.recipeInterner = recipeInterner;
+        this.orderIds = SequenceIdAllocator.forSequence(databaseClient, "Taco_Order_Seq", SEQUENCE_BLOCK_SIZE);
+        this.tacoIds = SequenceIdAllocator.forSequence(databaseClient, "Taco_Seq", SEQUENCE_BLOCK_SIZE);
+    }
+
+    /**
+     * Saves the order and emits its id once the transaction has committed. Ingredient ids must already have been
+     * checked against the catalog.
+     */
+    public Mono<Long> save(OrderSubmission order) {
+        Mono<List<Long>> recipeIds = Flux.fromIterable(order.tacos())
+                .concatMap(taco -> recipeInterner.intern(taco.ingredients()))
+                .collectList();
+        return Mono.zip(orderIds.nextIds(1), tacoIds.nextIds(order.tacos().size()), recipeIds)
+                .flatMap(ids -> {
+                    long orderId = ids.getT1()[0];
+                    return insert(order, orderId, ids.getT2(), ids.getT3())
+                            .as(transactionalOperator::transactional)
+                            .thenReturn(orderId);
+                });
+    }
+
+    private Mono<Void> insert(OrderSubmission order, long orderId, long[] tacoIds, List<Long> recipeIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Mono<Long> orderRow = databaseClient.sql(INSERT_ORDER)
+                .bind("id", orderId)
+                .bind("deliveryName", order.deliveryName())
+                .bind("deliveryStreet", order.deliveryStreet())
+                .bind("deliveryCity", order.deliveryCity())
+                .bind("deliveryState", order.deliveryState())
+                .bind("deliveryZip", order.deliveryZip())
+                .bind("ccNumber", order.ccNumber())
+                .bind("ccExpiration", order.ccExpiration())
+                .bind("ccCvv", order.ccCvv())
+                .bind("placedAt", now)
+                .fetch()
+                .rowsUpdated();
+
+        return orderRow
+                .then(batch(INSERT_TACO, tacoIds.length, (statement, i) -> {
+                    TacoSubmission taco = order.tacos().get(i);
+                    statement.bind(0, tacoIds[i]).bind(1, taco.name()).bind(2, now).bind(3, recipeIds.get(i));
+                    String ingredientOrder = Recipe.pickOrderOf(taco.ingredients());
+                    if (ingredientOrder != null) {
+                        statement.bind(4, ingredientOrder);
+                    } else {
+                        statement.bindNull(4, String.class);
+                    }
+                }))
+                .then(batch(INSERT_ORDER_TACO, tacoIds.length, (statement, i) ->
+                        statement.bind(0, orderId).bind(1, tacoIds[i])));
+    }
+
+    private Mono<Void> batch(String sql, int rows, BiConsumer<Statement, Integer> binder) {
+        if (rows == 0) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(sql);
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                binder.accept(statement, i);
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).then();
+    }
+}
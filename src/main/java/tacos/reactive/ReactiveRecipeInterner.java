@@ -0,0 +1,80 @@
+package tacos.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tacos.Recipe;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The reactive profile's counterpart of {@code RecipeInterner}: resolves a taco's ingredient ids to the id of the
+ * shared recipe row, creating the recipe in its own transaction the first time the combination is ordered.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveRecipeInterner {
+    static final int MAX_CACHED_RECIPES = 10_000;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final SequenceIdAllocator recipeIds;
+    private final ConcurrentMap<String, Long> recipes = new ConcurrentHashMap<>();
+
+    public ReactiveRecipeInterner(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.recipeIds = SequenceIdAllocator.forSequence(databaseClient, "Recipe_Seq",
+                ReactiveOrderWriter.SEQUENCE_BLOCK_SIZE);
+    }
+
+    public Mono<Long> intern(List<String> ingredientIds) {
+        String key = Recipe.keyOf(ingredientIds);
+        Long cached = recipes.get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return find(key)
+                .switchIfEmpty(Mono.defer(() -> create(key, ingredientIds)
+                        // Created concurrently by another order; use that one
+                        .onErrorResume(DataAccessException.class, e -> find(key).switchIfEmpty(Mono.error(e)))))
+                .doOnNext(id -> {
+                    if (recipes.size() < MAX_CACHED_RECIPES) {
+                        recipes.putIfAbsent(key, id);
+                    }
+                });
+    }
+
+    private Mono<Long> find(String key) {
+        return databaseClient.sql("select id from Recipe where ingredient_key = :key")
+                .bind("key", key)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Mono<Long> create(String key, List<String> ingredientIds) {
+        return recipeIds.nextIds(1)
+                .flatMap(ids -> databaseClient.sql("insert into Recipe (id, ingredient_key) values (:id, :key)")
+                        .bind("id", ids[0])
+                        .bind("key", key)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenMany(Flux.fromIterable(ingredientIds.stream().sorted().toList())
+                                .concatMap(ingredientId -> databaseClient.sql(
+                                                "insert into Recipe_Ingredients (recipe_id, ingredients_id) "
+                                                        + "values (:recipeId, :ingredientId)")
+                                        .bind("recipeId", ids[0])
+                                        .bind("ingredientId", ingredientId)
+                                        .fetch()
+                                        .rowsUpdated()))
+                        .then(Mono.just(ids[0]))
+                        .as(transactionalOperator::transactional));
+    }
+}
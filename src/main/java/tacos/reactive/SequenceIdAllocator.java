@@ -0,0 +1,61 @@
+package tacos.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Hands out ids from a database sequence a block at a time, the way Hibernate's pooled optimizer does for the JPA
+ * entities: a sequence value {@code hi} reserves the ids {@code hi - blockSize + 1} to {@code hi}. Both stacks can
+ * therefore draw from the same sequences without ever handing out the same id.
+ */
+class SequenceIdAllocator {
+    private final Supplier<Mono<Long>> nextValue;
+    private final int blockSize;
+
+    private long next = 1;
+    private long hi = 0;
+
+    SequenceIdAllocator(Supplier<Mono<Long>> nextValue, int blockSize) {
+        this.nextValue = nextValue;
+        this.blockSize = blockSize;
+    }
+
+    static SequenceIdAllocator forSequence(DatabaseClient databaseClient, String sequence, int blockSize) {
+        return new SequenceIdAllocator(() -> databaseClient.sql("select next value for " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one(), blockSize);
+    }
+
+    /**
+     * Allocates {@code count} ids, only going to the database when the current block runs out.
+     */
+    Mono<long[]> nextIds(int count) {
+        return fill(new long[count], 0);
+    }
+
+    private Mono<long[]> fill(long[] ids, int filled) {
+        int taken = take(ids, filled);
+        if (taken == ids.length) {
+            return Mono.just(ids);
+        }
+        return nextValue.get().flatMap(value -> {
+            newBlock(value);
+            return fill(ids, taken);
+        });
+    }
+
+    private synchronized int take(long[] ids, int filled) {
+        while (filled < ids.length && next <= hi) {
+            ids[filled++] = next++;
+        }
+        return filled;
+    }
+
+    // Blocks fetched concurrently may arrive out of order; whatever is left of the replaced block is simply skipped
+    private synchronized void newBlock(long value) {
+        next = Math.max(1, value - blockSize + 1);
+        hi = value;
+    }
+}
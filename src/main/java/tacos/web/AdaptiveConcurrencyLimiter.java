@@ -0,0 +1,99 @@
+package tacos.web;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of requests in flight at a limit that adapts to how fast they complete: additive increase while
+ * requests finish within the target latency and the limit is in use, multiplicative decrease once they slow down or
+ * fail. When the database slows down the limit drops, and the excess is turned away at once instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoTime;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecrease;
+
+    public AdaptiveConcurrencyLimiter(AdmissionProps props) {
+        this(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(), props.getTargetLatency(),
+                props.getBackoffRatio(), System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency,
+                               double backoffRatio, LongSupplier nanoTime) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoTime = nanoTime;
+        this.limit = Math.min(this.maxLimit, Math.max(minLimit, initialLimit));
+        this.lastDecrease = nanoTime.getAsLong() - targetLatencyNanos;
+    }
+
+    /**
+     * Takes a slot for a request, unless the limit is reached. Every successful call must be paired with
+     * {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and adjusts the limit to how the request went.
+     *
+     * @param latencyNanos how long the request took
+     * @param failed       whether it ended in a server error, which counts as a slow request
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = nanoTime.getAsLong();
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                // Back off at most once per target latency, so the requests of one slow burst don't collapse the limit
+                if (now - lastDecrease >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (inFlightBefore >= limit / 2) {
+                // Roughly one more slot per limit's worth of fast requests, and only while the slots are in use
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taco.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Requests currently allowed in flight on the guarded endpoints")
+                .register(registry);
+        Gauge.builder("taco.admission.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests in flight on the guarded endpoints")
+                .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package tacos.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.List;
+
+/**
+ * Puts the {@link AdmissionFilter} in front of the form posts that write to the database. Clients are told apart by
+ * remote address; behind a proxy, set {@code server.forward-headers-strategy} so that is the client's address.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+    static final List<String> GUARDED_ENDPOINTS = List.of("/design", "/orders");
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdmissionProps props) {
+        return new AdaptiveConcurrencyLimiter(props);
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(AdmissionProps props) {
+        return new ClientRateLimiter(props);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                   ClientRateLimiter clientRateLimiter,
+                                                                   AdmissionProps props, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionFilter(limiter, clientRateLimiter, props.getRetryAfter(), meterRegistry,
+                        GUARDED_ENDPOINTS));
+        registration.addUrlPatterns(GUARDED_ENDPOINTS.toArray(String[]::new));
+        return registration;
+    }
+}
@@ -0,0 +1,108 @@
+package tacos.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the form posts that write to the database, POST /design and POST /orders: a per-client token
+ * bucket answers 429 to clients sending too fast, then the {@link AdaptiveConcurrencyLimiter} answers 503 once the
+ * requests in flight reach its limit. Both set Retry-After and return before the request takes up a handler.
+ * Everything else, GET requests and static assets included, passes straight through.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ClientRateLimiter clientRateLimiter;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+    private final List<String> endpoints;
+
+    /**
+     * @param endpoints the paths the filter is mapped to; each is used as is for the {@code endpoint} meter tag
+     */
+    public AdmissionFilter(AdaptiveConcurrencyLimiter limiter, ClientRateLimiter clientRateLimiter,
+                           Duration retryAfter, MeterRegistry meterRegistry, List<String> endpoints) {
+        this.limiter = limiter;
+        this.clientRateLimiter = clientRateLimiter;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = endpoint(request);
+
+        long wait = clientRateLimiter.tryTake(request.getRemoteAddr());
+        if (wait > 0) {
+            count(endpoint, "rate-limited");
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait) + 1,
+                    "Too many requests, please slow down");
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            count(endpoint, "shed");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, Math.max(1, retryAfter.toSeconds()),
+                    "Taco Cloud is busy, please try again shortly");
+            return;
+        }
+
+        count(endpoint, "admitted");
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    // One of the fixed endpoints, not the raw URI, whose path parameters such as ;jsessionid differ per session
+    private String endpoint(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        for (String endpoint : endpoints) {
+            if (endpoint.equals(path)) {
+                return endpoint;
+            }
+        }
+        return "other";
+    }
+
+    private void count(String endpoint, String result) {
+        Counter.builder("taco.admission.requests")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .description("Requests to the guarded endpoints by admission result")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                               String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
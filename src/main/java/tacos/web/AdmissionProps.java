@@ -0,0 +1,66 @@
+package tacos.web;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.admission")
+@Validated
+public class AdmissionProps {
+    /**
+     * Whether POST /design and POST /orders go through the {@link AdmissionFilter}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Concurrent requests let through before the limiter has seen any latencies.
+     */
+    @Min(value = 1, message = "Initial limit must be at least 1")
+    private int initialLimit = 20;
+
+    @Min(value = 1, message = "Minimum limit must be at least 1")
+    private int minLimit = 2;
+
+    @Min(value = 1, message = "Maximum limit must be at least 1")
+    private int maxLimit = 200;
+
+    /**
+     * Handler latency the limiter aims for; slower requests, and server errors, shrink the limit.
+     */
+    @NotNull
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    /**
+     * Factor the limit is multiplied by when requests run slower than the target.
+     */
+    @DecimalMin("0.5")
+    @DecimalMax("0.99")
+    private double backoffRatio = 0.9;
+
+    /**
+     * Retry-After sent with 503 responses when the limit is reached.
+     */
+    @NotNull
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Requests a single client can send in a burst before being held to {@link #clientRate}.
+     */
+    @Min(value = 1, message = "Client burst must be at least 1")
+    private int clientBurst = 20;
+
+    /**
+     * Requests per second each client can keep up once its burst is spent.
+     */
+    @DecimalMin(value = "0", inclusive = false)
+    private double clientRate = 5;
+}
@@ -0,0 +1,110 @@
+package tacos.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per client: each holds up to the burst size and refills at the client rate.
+ * <p>
+ * Buckets that have refilled completely are no different from a new one, so a background sweep drops them once a
+ * second. Between sweeps at most {@code MAX_CLIENTS} clients get a bucket of their own; clients arriving once that many
+ * are tracked, e.g. during a flood from many addresses, share a single bucket until the sweep makes room. Taking a
+ * token never does more than a map lookup.
+ */
+public class ClientRateLimiter implements AutoCloseable {
+    private static final int MAX_CLIENTS = 10_000;
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxClients;
+    private final LongSupplier nanoTime;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket overflow;
+    private final ScheduledExecutorService sweeper;
+
+    public ClientRateLimiter(AdmissionProps props) {
+        this(props.getClientBurst(), props.getClientRate(), MAX_CLIENTS, System::nanoTime);
+        sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    ClientRateLimiter(int burst, double tokensPerSecond, int maxClients, LongSupplier nanoTime) {
+        this.capacity = burst;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+        this.overflow = new Bucket(nanoTime.getAsLong());
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "client-rate-limiter-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @return zero if a token was taken, otherwise how many nanoseconds until the next one is available
+     */
+    public long tryTake(String client) {
+        long now = nanoTime.getAsLong();
+        Bucket bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients ? buckets.computeIfAbsent(client, key -> new Bucket(now)) : overflow;
+        }
+        return bucket.tryTake(now);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Drops the buckets that have refilled completely. A token taken from one just as it is dropped goes uncounted,
+     * which only ever lets a client that was idle long enough to refill have one extra request.
+     */
+    void sweep() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private final class Bucket {
+        private double tokens = capacity;
+        private long refilledAt;
+
+        private Bucket(long now) {
+            this.refilledAt = now;
+        }
+
+        synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package tacos.web;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the draft client-side in an HMAC-signed cookie, so that any node can pick up a customer's next request without
+ * shared session storage.
+ */
+public class CookieDraftOrderStore implements DraftOrderStore {
+    private final DraftOrderCodec codec;
+    private final String cookieName;
+
+    public CookieDraftOrderStore(DraftOrderCodec codec, String cookieName) {
+        this.codec = codec;
+        this.cookieName = cookieName;
+    }
+
+    @Override
+    public DraftOrder load(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookie.getName().equals(cookieName)) {
+                    return codec.decode(cookie.getValue()).orElseGet(DraftOrder::new);
+                }
+            }
+        }
+        return new DraftOrder();
+    }
+
+    @Override
+    public void save(DraftOrder draft, HttpServletRequest request, HttpServletResponse response) {
+        response.addCookie(cookie(request, codec.encode(draft), -1));
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        response.addCookie(cookie(request, "", 0));
+    }
+
+    private Cookie cookie(HttpServletRequest request, String value, int maxAge) {
+        Cookie cookie = new Cookie(cookieName, value);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setMaxAge(maxAge);
+        cookie.setAttribute("SameSite", "Lax");
+        return cookie;
+    }
+}
@@ -1,52 +1,46 @@
 package tacos.web;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
-import tacos.Ingredient;
-import tacos.Ingredient.Type;
+import org.springframework.web.context.request.WebRequest;
 import tacos.Taco;
-import tacos.TacoOrder;
-import tacos.data.IngredientRepository;
+import tacos.data.IngredientCatalog;
 import tacos.data.TacoRepository;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Slf4j
 @Controller
+@Profile("!reactive")
 @RequestMapping("/design")
-@SessionAttributes("tacoOrder")
 public class DesignTacoController {
-    private final IngredientRepository ingredientRepo;
+    private final IngredientCatalog ingredientCatalog;
     private final TacoRepository tacoRepo;
+    private final DraftOrderStore draftOrderStore;
+    private final IngredientGridCache ingredientGridCache;
 
     @Autowired
-    public DesignTacoController(IngredientRepository ingredientRepo, TacoRepository tacoRepo) {
-        this.ingredientRepo = ingredientRepo;
+    public DesignTacoController(IngredientCatalog ingredientCatalog, TacoRepository tacoRepo,
+                                DraftOrderStore draftOrderStore, IngredientGridCache ingredientGridCache) {
+        this.ingredientCatalog = ingredientCatalog;
         this.tacoRepo = tacoRepo;
+        this.draftOrderStore = draftOrderStore;
+        this.ingredientGridCache = ingredientGridCache;
     }
 
     @ModelAttribute
     public void addIngredientsToModel(Model model) {
-        List<Ingredient> ingredients = new ArrayList<>();
-        ingredientRepo.findAll().forEach(ingredients::add);
-
-        log.info(ingredients.toString());
-
-        Type[] types = Type.values();
-        for (Type type : types) {
-            model.addAttribute(type.toString().toLowerCase(), filterByType(ingredients, type));
-        }
-    }
-
-    @ModelAttribute(name = "tacoOrder")
-    public TacoOrder order() {
-        return new TacoOrder();
+        ingredientCatalog.byType().forEach((type, ingredients) ->
+                model.addAttribute(type.toString().toLowerCase(), ingredients));
     }
 
     @ModelAttribute(name = "taco")
@@ -55,27 +49,36 @@ public class DesignTacoController {
     }
 
     @GetMapping
-    public String showDesignForm() {
+    @Timed(value = "taco.web.requests", histogram = true)
+    public String showDesignForm(WebRequest request, HttpServletResponse response, Model model) {
+        IngredientGridCache.RenderedGrid grid = ingredientGridCache.get();
+        if (grid == null) {
+            return "design";
+        }
+
+        // The empty form is the same for everyone, so caches may keep it as long as they revalidate
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePublic().getHeaderValue());
+        if (request.checkNotModified(grid.etag())) {
+            return null;
+        }
+        model.addAttribute("ingredientGrid", grid.html());
         return "design";
     }
 
     @PostMapping
-    public String processDesign(@Valid Taco taco, Errors errors, @ModelAttribute TacoOrder tacoOrder) {
+    @Timed(value = "taco.web.requests", histogram = true)
+    public String processDesign(@Valid Taco taco, Errors errors,
+                                HttpServletRequest request, HttpServletResponse response) {
         if (errors.hasErrors()) {
             return "design";
         }
 
-        tacoOrder.addTaco(taco);
+        DraftOrder draftOrder = draftOrderStore.load(request);
+        draftOrder.addTaco(taco);
+        draftOrderStore.save(draftOrder, request, response);
 
-        log.info("Processing taco: " + taco);
+        log.debug("Processing taco: {}", taco);
 
         return "redirect:/orders/current";
     }
-
-    private Iterable<Ingredient> filterByType(List<Ingredient> ingredients, Type type) {
-        return ingredients
-                .stream()
-                .filter(ingredient -> ingredient.getType().equals(type))
-                .toList();
-    }
 }
@@ -0,0 +1,157 @@
+package tacos.web;
+
+import tacos.Ingredient;
+import tacos.Taco;
+import tacos.data.IngredientCatalog;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact stand-in for the order being put together: only the names of the designed tacos and their ingredient ids,
+ * each id packed into an int. It is kept by a {@link DraftOrderStore} between requests and turned back into
+ * {@link Taco} entities when the order is placed.
+ */
+public class DraftOrder implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient String[] tacoNames = new String[0];
+    private transient int[][] ingredientIds = new int[0][];
+
+    public void addTaco(Taco taco) {
+        int[] ids = taco.getIngredients().stream()
+                .filter(Objects::nonNull)
+                .map(Ingredient::getId)
+                .mapToInt(DraftOrder::pack)
+                .toArray();
+        addTaco(taco.getName(), ids);
+    }
+
+    void addTaco(String name, int[] packedIngredientIds) {
+        int index = tacoNames.length;
+        tacoNames = Arrays.copyOf(tacoNames, index + 1);
+        tacoNames[index] = name;
+        ingredientIds = Arrays.copyOf(ingredientIds, index + 1);
+        ingredientIds[index] = packedIngredientIds;
+    }
+
+    public int getTacoCount() {
+        return tacoNames.length;
+    }
+
+    public String getTacoName(int index) {
+        return tacoNames[index];
+    }
+
+    public List<String> getIngredientIds(int index) {
+        List<String> ids = new ArrayList<>(ingredientIds[index].length);
+        for (int packed : ingredientIds[index]) {
+            ids.add(unpack(packed));
+        }
+        return ids;
+    }
+
+    /**
+     * Rebuilds the designed tacos, resolving ingredients through the catalog. Ingredients that no longer exist are
+     * left out.
+     */
+    public List<Taco> toTacos(IngredientCatalog ingredientCatalog) {
+        List<Taco> tacos = new ArrayList<>(tacoNames.length);
+        for (int i = 0; i < tacoNames.length; i++) {
+            Taco taco = new Taco();
+            taco.setName(tacoNames[i]);
+            List<Ingredient> ingredients = new ArrayList<>(ingredientCatalog.findAllById(getIngredientIds(i)));
+            ingredients.removeIf(Objects::isNull);
+            taco.setIngredients(ingredients);
+            tacos.add(taco);
+        }
+        return tacos;
+    }
+
+    /**
+     * Packs an ingredient id of up to four ASCII characters (the width of the {@code Ingredient.id} column) into an
+     * int, one character per byte.
+     */
+    static int pack(String id) {
+        if (id.isEmpty() || id.length() > 4) {
+            throw new IllegalArgumentException("Ingredient id must be 1 to 4 characters: " + id);
+        }
+        int packed = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c == 0 || c > 0x7f) {
+                throw new IllegalArgumentException("Ingredient id must be ASCII: " + id);
+            }
+            packed |= c << (24 - 8 * i);
+        }
+        return packed;
+    }
+
+    static String unpack(int packed) {
+        StringBuilder id = new StringBuilder(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            char c = (char) ((packed >>> shift) & 0xff);
+            if (c == 0) {
+                break;
+            }
+            id.append(c);
+        }
+        return id.toString();
+    }
+
+    /**
+     * Writes the tacos in the compact form shared by session serialization and {@link DraftOrderCodec}.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeShort(tacoNames.length);
+        for (int i = 0; i < tacoNames.length; i++) {
+            out.writeUTF(tacoNames[i]);
+            out.writeShort(ingredientIds[i].length);
+            for (int id : ingredientIds[i]) {
+                out.writeInt(id);
+            }
+        }
+    }
+
+    static DraftOrder readFrom(DataInput in) throws IOException {
+        DraftOrder draft = new DraftOrder();
+        draft.readTacos(in);
+        return draft;
+    }
+
+    private void readTacos(DataInput in) throws IOException {
+        int tacoCount = in.readUnsignedShort();
+        tacoNames = new String[tacoCount];
+        ingredientIds = new int[tacoCount][];
+        for (int i = 0; i < tacoCount; i++) {
+            tacoNames[i] = in.readUTF();
+            int[] ids = new int[in.readUnsignedShort()];
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = in.readInt();
+            }
+            ingredientIds[i] = ids;
+        }
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        writeTo(out);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        readTacos(in);
+    }
+}
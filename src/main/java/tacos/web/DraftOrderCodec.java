@@ -0,0 +1,109 @@
+package tacos.web;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Encodes a {@link DraftOrder} into a URL- and cookie-safe token: the compact binary draft plus an expiry time, signed
+ * with HMAC-SHA256. Tokens that are forged, tampered with, expired or oversized decode to nothing.
+ */
+@Slf4j
+public class DraftOrderCodec {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte FORMAT_VERSION = 1;
+
+    private final SecretKeySpec key;
+    private final Duration maxAge;
+    private final int maxLength;
+    private final Clock clock;
+
+    public DraftOrderCodec(String secret, Duration maxAge, int maxLength) {
+        this(secret, maxAge, maxLength, Clock.systemUTC());
+    }
+
+    DraftOrderCodec(String secret, Duration maxAge, int maxLength, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("A signing secret is required to keep draft orders client-side");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxAge = maxAge;
+        this.maxLength = maxLength;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws DraftOrderTooLargeException if the token would be longer than the configured maximum
+     */
+    public String encode(DraftOrder draft) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(clock.millis() + maxAge.toMillis());
+            draft.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] payload = bytes.toByteArray();
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        String token = base64.encodeToString(payload) + "." + base64.encodeToString(sign(payload));
+        if (token.length() > maxLength) {
+            throw new DraftOrderTooLargeException(token.length(), maxLength);
+        }
+        return token;
+    }
+
+    public Optional<DraftOrder> decode(String token) {
+        if (token == null || token.length() > maxLength) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+
+        try {
+            Base64.Decoder base64 = Base64.getUrlDecoder();
+            byte[] payload = base64.decode(token.substring(0, separator));
+            byte[] signature = base64.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                log.debug("Ignoring draft order with an invalid signature");
+                return Optional.empty();
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            if (in.readByte() != FORMAT_VERSION || in.readLong() < clock.millis()) {
+                return Optional.empty();
+            }
+            return Optional.of(DraftOrder.readFrom(in));
+        } catch (IllegalArgumentException | IOException e) {
+            log.debug("Ignoring malformed draft order", e);
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign draft orders", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package tacos.web;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "taco.draft")
+@Validated
+public class DraftOrderProps {
+    /**
+     * Where the order being put together lives between requests.
+     */
+    @NotNull
+    private Storage storage = Storage.SESSION;
+
+    /**
+     * HMAC key for {@link Storage#COOKIE}; every node serving the same customers must share it.
+     */
+    private String secret;
+
+    @NotBlank
+    private String cookieName = "TACO_DRAFT";
+
+    @NotNull
+    private Duration maxAge = Duration.ofHours(2);
+
+    /**
+     * Longest signed token accepted, kept under the 4KB browsers allow per cookie.
+     */
+    @Min(value = 64, message = "Cookie length must be at least 64")
+    private int maxCookieLength = 3800;
+
+    public enum Storage {
+        SESSION, COOKIE
+    }
+}
@@ -0,0 +1,18 @@
+package tacos.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a customer's {@link DraftOrder} between the requests of the design -> order flow.
+ */
+public interface DraftOrderStore {
+    /**
+     * Returns the customer's draft, or an empty one if there is none.
+     */
+    DraftOrder load(HttpServletRequest request);
+
+    void save(DraftOrder draft, HttpServletRequest request, HttpServletResponse response);
+
+    void clear(HttpServletRequest request, HttpServletResponse response);
+}
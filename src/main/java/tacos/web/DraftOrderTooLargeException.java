@@ -0,0 +1,11 @@
+package tacos.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.PAYLOAD_TOO_LARGE, reason = "Too many tacos in one order")
+public class DraftOrderTooLargeException extends RuntimeException {
+    public DraftOrderTooLargeException(int length, int maxLength) {
+        super("Draft order token is " + length + " characters, more than the " + maxLength + " allowed");
+    }
+}
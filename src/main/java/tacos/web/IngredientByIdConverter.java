@@ -1,22 +1,24 @@
 package tacos.web;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 import tacos.Ingredient;
-import tacos.data.IngredientRepository;
+import tacos.data.IngredientCatalog;
 
 @Component
+@Profile("!reactive")
 public class IngredientByIdConverter implements Converter<String, Ingredient> {
-    private final IngredientRepository ingredientRepo;
+    private final IngredientCatalog ingredientCatalog;
 
     @Autowired
-    public IngredientByIdConverter(IngredientRepository ingredientRepo) {
-        this.ingredientRepo = ingredientRepo;
+    public IngredientByIdConverter(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
     }
 
     @Override
     public Ingredient convert(String id) {
-        return ingredientRepo.findById(id).orElse(null);
+        return ingredientCatalog.findById(id);
     }
 }
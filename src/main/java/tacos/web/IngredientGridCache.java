@@ -0,0 +1,120 @@
+package tacos.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import tacos.data.IngredientCatalog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Renders the ingredient grid of the design page once per {@link IngredientCatalog} version, along with a strong ETag
+ * for the page as a whole. Only a customer's first look at the form uses the cached grid; forms re-rendered with their
+ * validation errors still render it live so that their choices stay checked.
+ * <p>
+ * Nothing is cached while Thymeleaf's own template cache is off, so template edits show up in development.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class IngredientGridCache {
+    static final String TEMPLATE = "ingredient-grid";
+    static final String FRAGMENT = "grid";
+    private static final String PAGE_TEMPLATE = "design";
+    private static final String[] PAGE_ASSETS = {"/styles.css", "/images/TacoCloud.png"};
+
+    private final IngredientCatalog ingredientCatalog;
+    private final ITemplateEngine templateEngine;
+    private final ResourceUrlProvider resourceUrlProvider;
+    private final boolean enabled;
+    private final byte[] templatesDigest;
+
+    private volatile RenderedGrid grid;
+
+    public IngredientGridCache(IngredientCatalog ingredientCatalog, ITemplateEngine templateEngine,
+                               ResourceUrlProvider resourceUrlProvider, ThymeleafProperties thymeleaf,
+                               ResourceLoader resourceLoader) {
+        this.ingredientCatalog = ingredientCatalog;
+        this.templateEngine = templateEngine;
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.enabled = thymeleaf.isCache();
+        this.templatesDigest = enabled ? digestTemplates(thymeleaf, resourceLoader) : null;
+    }
+
+    /**
+     * Returns the grid rendered from the current catalog, or {@code null} when caching is disabled.
+     */
+    public RenderedGrid get() {
+        if (!enabled) {
+            return null;
+        }
+
+        // Read the version before the ingredients: if the catalog changes in between, the grid is labelled with the
+        // older version and simply rendered again on the next call
+        long version = ingredientCatalog.version();
+        RenderedGrid current = grid;
+        if (current == null || current.catalogVersion() != version) {
+            current = render(version);
+            grid = current;
+        }
+        return current;
+    }
+
+    private RenderedGrid render(long version) {
+        Context context = new Context();
+        ingredientCatalog.byType().forEach((type, ingredients) ->
+                context.setVariable(type.toString().toLowerCase(), ingredients));
+        String html = templateEngine.process(TEMPLATE, Set.of(FRAGMENT), context);
+
+        MessageDigest digest = sha256();
+        digest.update(templatesDigest);
+        // The page links to fingerprinted assets, so a changed stylesheet means a changed page
+        for (String asset : PAGE_ASSETS) {
+            String url = resourceUrlProvider.getForLookupPath(asset);
+            digest.update((url != null ? url : asset).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(html.getBytes(StandardCharsets.UTF_8));
+        String etag = "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+
+        log.debug("Rendered ingredient grid for catalog version {} ({} chars, ETag {})", version, html.length(), etag);
+        return new RenderedGrid(version, html, etag);
+    }
+
+    // The ETag must also change when a deployment changes the markup around the grid
+    private static byte[] digestTemplates(ThymeleafProperties thymeleaf, ResourceLoader resourceLoader) {
+        MessageDigest digest = sha256();
+        for (String template : new String[]{PAGE_TEMPLATE, TEMPLATE}) {
+            Resource resource = resourceLoader.getResource(thymeleaf.getPrefix() + template + thymeleaf.getSuffix());
+            try (InputStream in = resource.getInputStream()) {
+                digest.update(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read template " + template, e);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record RenderedGrid(long catalogVersion, String html, String etag) {
+    }
+}
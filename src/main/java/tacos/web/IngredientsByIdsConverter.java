@@ -0,0 +1,31 @@
+package tacos.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import tacos.Ingredient;
+import tacos.data.IngredientCatalog;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binds all checked ingredient checkboxes of a form at once, so that ids missing from the catalog are fetched with a
+ * single query rather than one per checkbox.
+ */
+@Component
+@Profile("!reactive")
+public class IngredientsByIdsConverter implements Converter<String[], List<Ingredient>> {
+    private final IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    public IngredientsByIdsConverter(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @Override
+    public List<Ingredient> convert(String[] ids) {
+        return ingredientCatalog.findAllById(Arrays.asList(ids));
+    }
+}
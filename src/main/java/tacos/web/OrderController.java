@@ -1,43 +1,118 @@
 package tacos.web;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.SessionAttributes;
-import org.springframework.web.bind.support.SessionStatus;
 import tacos.TacoOrder;
+import tacos.analytics.IngredientPopularity;
+import tacos.data.GroupCommitOrderWriter;
+import tacos.data.IngredientCatalog;
+import tacos.data.OrderCommitPendingException;
+import tacos.data.OrderQueueFullException;
+import tacos.data.OrderWriterStoppedException;
 import tacos.data.OrderRepository;
+import tacos.data.RecipeInterner;
+import tacos.journal.OrderJournal;
 
 @Slf4j
 @Controller
+@Profile("!reactive")
 @RequestMapping("/orders")
-@SessionAttributes("tacoOrder")
 public class OrderController {
-    private OrderRepository orderRepo;
+    private final OrderRepository orderRepo;
+    private final IngredientCatalog ingredientCatalog;
+    private final GroupCommitOrderWriter orderWriter;
+    private final OrderJournal orderJournal;
+    private final DraftOrderStore draftOrderStore;
+    private final IngredientPopularity ingredientPopularity;
+    private final RecipeInterner recipeInterner;
 
-    public OrderController(OrderRepository orderRepo) {
+    public OrderController(OrderRepository orderRepo, IngredientCatalog ingredientCatalog,
+                           ObjectProvider<GroupCommitOrderWriter> orderWriter,
+                           ObjectProvider<OrderJournal> orderJournal, DraftOrderStore draftOrderStore,
+                           IngredientPopularity ingredientPopularity, RecipeInterner recipeInterner) {
         this.orderRepo = orderRepo;
+        this.ingredientCatalog = ingredientCatalog;
+        this.orderWriter = orderWriter.getIfAvailable();
+        this.orderJournal = orderJournal.getIfAvailable();
+        this.draftOrderStore = draftOrderStore;
+        this.ingredientPopularity = ingredientPopularity;
+        this.recipeInterner = recipeInterner;
+    }
+
+    @ModelAttribute(name = "tacoOrder")
+    public TacoOrder tacoOrder() {
+        return new TacoOrder();
     }
 
     @GetMapping("/current")
+    @Timed(value = "taco.web.requests", histogram = true)
     public String orderForm() {
         return "order-form";
     }
 
     @PostMapping
-    public String processOrder(@Valid TacoOrder tacoOrder, Errors errors, SessionStatus sessionStatus) {
+    @Timed(value = "taco.web.requests", histogram = true)
+    public String processOrder(@Valid TacoOrder tacoOrder, Errors errors,
+                               HttpServletRequest request, HttpServletResponse response) {
         if (errors.hasErrors()) {
             return "order-form";
         }
 
-        orderRepo.save(tacoOrder);
-        sessionStatus.setComplete();
+        DraftOrder draft = draftOrderStore.load(request);
+        if (draft.getTacoCount() == 0) {
+            // Nothing designed, or the draft was lost, expired or tampered with; don't save an order without tacos
+            log.info("Order posted without a draft, sending the customer back to design");
+            return "redirect:/design";
+        }
+        draft.toTacos(ingredientCatalog).forEach(tacoOrder::addTaco);
+
+        if (orderJournal != null) {
+            // Acknowledged once journaled, the OrderJournalApplier saves it to the database in the background
+            // and counts it towards ingredient popularity once that has committed
+            long sequence = orderJournal.append(tacoOrder);
+            log.info("Order journaled as entry {} with {} tacos", sequence, tacoOrder.getTacos().size());
+        } else {
+            if (orderWriter != null) {
+                orderWriter.write(tacoOrder);
+            } else {
+                recipeInterner.assignRecipes(tacoOrder);
+                orderRepo.save(tacoOrder);
+            }
+            log.info("Order {} submitted with {} tacos", tacoOrder.getId(), tacoOrder.getTacos().size());
+            ingredientPopularity.recordOrder(tacoOrder);
+        }
+        draftOrderStore.clear(request, response);
 
-        log.info("Order submitted: " + tacoOrder);
+        log.debug("Order submitted: {}", tacoOrder);
         return "redirect:/";
     }
+
+    @ExceptionHandler({OrderQueueFullException.class, OrderWriterStoppedException.class})
+    public ResponseEntity<String> orderNotTaken(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    // No Retry-After: the order may still be saved, and submitting it again could place it twice
+    @ExceptionHandler(OrderCommitPendingException.class)
+    public ResponseEntity<String> orderCommitPending(OrderCommitPendingException e) {
+        log.warn("Order not committed in time, it may still be saved", e);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
 }
@@ -0,0 +1,33 @@
+package tacos.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Keeps the draft in the HTTP session, so a customer has to keep hitting the same node.
+ */
+public class SessionDraftOrderStore implements DraftOrderStore {
+    static final String ATTRIBUTE_NAME = "draftOrder";
+
+    @Override
+    public DraftOrder load(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        DraftOrder draft = session != null ? (DraftOrder) session.getAttribute(ATTRIBUTE_NAME) : null;
+        return draft != null ? draft : new DraftOrder();
+    }
+
+    @Override
+    public void save(DraftOrder draft, HttpServletRequest request, HttpServletResponse response) {
+        // Set it again even when unchanged so that session replication notices the update
+        request.getSession().setAttribute(ATTRIBUTE_NAME, draft);
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.removeAttribute(ATTRIBUTE_NAME);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package tacos.web;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "taco.threads")
+@Validated
+public class ThreadingProps {
+    /**
+     * Whether requests are handled on virtual threads instead of Tomcat's platform thread pool. Needs Java 21, or
+     * Java 19/20 started with {@code --enable-preview}.
+     */
+    private boolean virtual = false;
+
+    /**
+     * Most connections checked out of the data source at once while running on virtual threads. Zero means the
+     * connection pool's maximum size.
+     */
+    @Min(value = 0, message = "Bulkhead size must not be negative")
+    private int bulkheadMaxConcurrent = 0;
+
+    @NotNull
+    private Duration bulkheadAcquireTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,67 @@
+package tacos.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tacos.data.BulkheadDataSource;
+import tacos.data.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling on virtual threads, with a {@link BulkheadDataSource} in front of the connection pool so that
+ * thousands of concurrent requests queue fairly for a connection rather than time out inside the pool. A
+ * {@link ReplicaRoutingDataSource} is left as it is; {@code DataSourceRoutingConfig} puts a bulkhead in front of each
+ * of its pools instead.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "taco.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        // Looked up reflectively, as virtual threads are still a preview API on the Java 19 the build targets
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(
+                    "Virtual threads are not enabled, start the JVM with --enable-preview", e.getTargetException());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 19 or later", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(ObjectProvider<ThreadingProps> threadingProps) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource
+                        || bean instanceof ReplicaRoutingDataSource) {
+                    return bean;
+                }
+
+                ThreadingProps props = threadingProps.getObject();
+                BulkheadDataSource bulkhead = BulkheadDataSource.of(dataSource, props.getBulkheadMaxConcurrent(),
+                        props.getBulkheadAcquireTimeout());
+                log.info("Limiting data source '{}' to {} concurrent connections", beanName,
+                        bulkhead.availablePermits());
+                return bulkhead;
+            }
+        };
+    }
+}
@@ -1,13 +1,104 @@
 package tacos.web;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+import tacos.web.DraftOrderProps.Storage;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
 
 @Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(DraftOrderProps.class)
 public class WebConfig implements WebMvcConfigurer {
+    static final String[] STATIC_ASSETS = {"/*.css", "/*.js", "/images/**"};
+
+    /**
+     * Fingerprinted URLs never change content, so browsers and CDNs may keep them for a year without revalidating.
+     * Spring 6.0 has no {@code CacheControl.immutable()} yet, hence the hand-written header.
+     */
+    private static final CacheControl IMMUTABLE = new CacheControl() {
+        @Override
+        public String getHeaderValue() {
+            return "max-age=" + Duration.ofDays(365).toSeconds() + ", public, immutable";
+        }
+    };
+
+    /**
+     * Plain URLs such as {@code /styles.css} still resolve but change whenever the file does, so caches must
+     * revalidate them every time; the resource handler answers a matching If-Modified-Since with a 304.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    // The -<md5> suffix the content version strategy puts before the extension
+    private static final Pattern FINGERPRINTED = Pattern.compile("-[0-9a-f]{32}\\.[^/.]+$");
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addViewController("/").setViewName("home");
     }
+
+    /**
+     * Serves static assets under content-hash fingerprinted URLs ({@code /styles-<md5>.css}), preferring the
+     * {@code .br}/{@code .gz} variants written at build time when the client accepts them. No cache control is set on
+     * the handler itself, so the header chosen by {@link #addInterceptors} is the one sent.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(STATIC_ASSETS)
+                .addResourceLocations("classpath:/static/")
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * Marks static assets requested by their fingerprinted URL immutable, and everything else under the same paths
+     * as needing revalidation.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+                boolean fingerprinted = path != null && FINGERPRINTED.matcher(path).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL,
+                        (fingerprinted ? IMMUTABLE : REVALIDATE).getHeaderValue());
+                return true;
+            }
+        }).addPathPatterns(STATIC_ASSETS);
+    }
+
+    /**
+     * Rewrites {@code @{...}} links in templates to their fingerprinted URLs.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    @Bean
+    public DraftOrderStore draftOrderStore(DraftOrderProps props) {
+        if (props.getStorage() == Storage.COOKIE) {
+            DraftOrderCodec codec = new DraftOrderCodec(props.getSecret(), props.getMaxAge(), props.getMaxCookieLength());
+            return new CookieDraftOrderStore(codec, props.getCookieName());
+        }
+        return new SessionDraftOrderStore();
+    }
 }
@@ -0,0 +1,10 @@
+package tacos.web.api;
+
+import java.util.List;
+
+/**
+ * Totals over the archived orders of a range of months, with the ingredients most used in them first.
+ */
+public record ArchivedOrdersSummary(String from, String to, long orders, long tacos,
+                                    List<PopularIngredient> ingredients) {
+}
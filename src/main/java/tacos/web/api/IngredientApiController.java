@@ -0,0 +1,67 @@
+package tacos.web.api;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.analytics.IngredientPopularity;
+import tacos.analytics.IngredientPopularity.IngredientCount;
+import tacos.analytics.PopularityWindow;
+import tacos.data.IngredientCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ingredients of the design page as JSON, grouped by type, and which of them are being ordered most right now.
+ * {@code ReactiveOrderController} serves the same ingredient document on the reactive profile.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping(path = "/api/ingredients", produces = "application/json")
+public class IngredientApiController {
+    static final int MAX_LIMIT = 50;
+
+    private final IngredientCatalog ingredientCatalog;
+    private final IngredientPopularity ingredientPopularity;
+
+    public IngredientApiController(IngredientCatalog ingredientCatalog, IngredientPopularity ingredientPopularity) {
+        this.ingredientCatalog = ingredientCatalog;
+        this.ingredientPopularity = ingredientPopularity;
+    }
+
+    @GetMapping
+    public Map<Type, List<Ingredient>> ingredients() {
+        return ingredientCatalog.byType();
+    }
+
+    /**
+     * The most used ingredients over the {@code 1m}, {@code 15m} or {@code 24h} window, counted in tacos, together
+     * with totals per ingredient type. Served from in-memory counters, so dashboards may poll it freely.
+     */
+    @GetMapping("/popular")
+    public PopularIngredients popular(@RequestParam(defaultValue = "15m") String window,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        PopularityWindow popularityWindow;
+        try {
+            popularityWindow = PopularityWindow.of(window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown window: " + window);
+        }
+
+        List<IngredientCount> top = ingredientPopularity.top(popularityWindow, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<PopularIngredient> ingredients = top.stream()
+                .map(count -> {
+                    Ingredient ingredient = ingredientCatalog.findById(count.id());
+                    return new PopularIngredient(count.id(), ingredient != null ? ingredient.getName() : null,
+                            count.type(), count.count());
+                })
+                .toList();
+        return new PopularIngredients(window, ingredients, ingredientPopularity.byType(popularityWindow));
+    }
+}
@@ -0,0 +1,44 @@
+package tacos.web.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tacos.kitchen.KitchenFeed;
+import tacos.kitchen.KitchenFeedFullException;
+
+/**
+ * Committed orders as they come in, for kitchen displays: an {@code order} event per order, and a {@code resync}
+ * event when the display missed some and should reload {@code /api/orders}. Browsers' {@code EventSource} reconnects
+ * by itself and sends {@code Last-Event-ID}, so a display that was briefly disconnected picks up where it left off.
+ */
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.kitchen.feed.enabled", havingValue = "true")
+public class KitchenFeedController {
+    private final KitchenFeed kitchenFeed;
+
+    public KitchenFeedController(KitchenFeed kitchenFeed) {
+        this.kitchenFeed = kitchenFeed;
+    }
+
+    @GetMapping(path = "/api/kitchen/orders", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter orders(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return kitchenFeed.subscribe(lastEventId);
+    }
+
+    @ExceptionHandler(KitchenFeedFullException.class)
+    public ResponseEntity<String> kitchenFeedFull(KitchenFeedFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,130 @@
+package tacos.web.api;
+
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tacos.Ingredient;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.analytics.IngredientPopularity;
+import tacos.data.IngredientCatalog;
+import tacos.data.OrderRepository;
+import tacos.data.RecipeInterner;
+import tacos.data.TacoRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only order history, newest first, paged with a keyset cursor: {@code next} from one page is passed as
+ * {@code after} to get the following one. The cursor holds the last order's placement time and id, so paging carries
+ * on even if the archiver has moved that order out in the meantime. Every page takes the same three queries however many orders, tacos and
+ * ingredients it holds: the page's order ids, the orders with their tacos, and the tacos' ingredient ids.
+ * <p>
+ * Orders can also be placed here as JSON; {@code ReactiveOrderController} takes the same requests on the reactive
+ * profile.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping(path = "/api/orders", produces = "application/json")
+public class OrderApiController {
+    static final int MAX_LIMIT = 100;
+
+    private final OrderRepository orderRepo;
+    private final TacoRepository tacoRepo;
+    private final IngredientCatalog ingredientCatalog;
+    private final IngredientPopularity ingredientPopularity;
+    private final RecipeInterner recipeInterner;
+
+    public OrderApiController(OrderRepository orderRepo, TacoRepository tacoRepo,
+                              IngredientCatalog ingredientCatalog, IngredientPopularity ingredientPopularity,
+                              RecipeInterner recipeInterner) {
+        this.orderRepo = orderRepo;
+        this.tacoRepo = tacoRepo;
+        this.ingredientCatalog = ingredientCatalog;
+        this.ingredientPopularity = ingredientPopularity;
+        this.recipeInterner = recipeInterner;
+    }
+
+    @GetMapping
+    @Transactional(readOnly = true)
+    public OrderPage orders(@RequestParam(required = false) String after,
+                            @RequestParam(defaultValue = "20") int limit) {
+        PageRequest page = PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<Long> ids;
+        if (after == null) {
+            ids = orderRepo.findNewestIds(page);
+        } else {
+            OrderCursor cursor = OrderCursor.parse(after);
+            ids = orderRepo.findNewestIdsAfter(cursor.placedAt(), cursor.id(), page);
+        }
+        if (ids.isEmpty()) {
+            return new OrderPage(List.of(), null);
+        }
+
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<TacoOrder> orders = new ArrayList<>(orderRepo.findAllWithTacosByIdIn(ids));
+        orders.sort(Comparator.comparing(order -> position.get(order.getId())));
+
+        Map<Long, List<String>> ingredientIds = tacoRepo.findIngredientIdsByTaco(orders.stream()
+                .flatMap(order -> order.getTacos().stream())
+                .toList());
+
+        List<OrderView> views = orders.stream()
+                .map(order -> OrderView.of(order, ingredientIds))
+                .toList();
+        String next = null;
+        if (ids.size() == page.getPageSize() && !orders.isEmpty()) {
+            next = OrderCursor.of(orders.get(orders.size() - 1)).toString();
+        }
+        return new OrderPage(views, next);
+    }
+
+    @PostMapping(consumes = "application/json")
+    @ResponseStatus(HttpStatus.CREATED)
+    public OrderCreated submitOrder(@Valid @RequestBody OrderSubmission submission) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(submission.deliveryName());
+        order.setDeliveryStreet(submission.deliveryStreet());
+        order.setDeliveryCity(submission.deliveryCity());
+        order.setDeliveryState(submission.deliveryState());
+        order.setDeliveryZip(submission.deliveryZip());
+        order.setCcNumber(submission.ccNumber());
+        order.setCcExpiration(submission.ccExpiration());
+        order.setCcCvv(submission.ccCvv());
+        for (TacoSubmission tacoSubmission : submission.tacos()) {
+            List<Ingredient> ingredients = ingredientCatalog.findAllById(tacoSubmission.ingredients());
+            for (int i = 0; i < ingredients.size(); i++) {
+                if (ingredients.get(i) == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Unknown ingredient: " + tacoSubmission.ingredients().get(i));
+                }
+            }
+            Taco taco = new Taco();
+            taco.setName(tacoSubmission.name());
+            taco.setIngredients(new ArrayList<>(ingredients));
+            order.addTaco(taco);
+        }
+
+        recipeInterner.assignRecipes(order);
+        TacoOrder saved = orderRepo.save(order);
+        ingredientPopularity.recordOrder(saved);
+        return new OrderCreated(saved.getId(), saved.getTacos().size());
+    }
+}
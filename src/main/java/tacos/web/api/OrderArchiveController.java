@@ -0,0 +1,83 @@
+package tacos.web.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tacos.Ingredient;
+import tacos.archive.ArchiveSummary;
+import tacos.archive.OrderArchive;
+import tacos.data.IngredientCatalog;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders moved out of the database by the {@link tacos.archive.OrderArchiver}, served from the archive files alone.
+ */
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "taco.orders.archive.enabled", havingValue = "true")
+@RequestMapping(path = "/api/orders/archive", produces = "application/json")
+public class OrderArchiveController {
+    private final OrderArchive orderArchive;
+    private final IngredientCatalog ingredientCatalog;
+
+    public OrderArchiveController(OrderArchive orderArchive, IngredientCatalog ingredientCatalog) {
+        this.orderArchive = orderArchive;
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @GetMapping("/{id}")
+    public OrderView order(@PathVariable long id) {
+        return orderArchive.findById(id)
+                .map(OrderView::of)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No archived order " + id));
+    }
+
+    /**
+     * Order, taco and ingredient totals over the archived orders placed in the months {@code from} to {@code to}
+     * (inclusive, UTC), e.g. {@code ?from=2021-01&to=2021-12}.
+     */
+    @GetMapping("/summary")
+    public ArchivedOrdersSummary summary(@RequestParam String from, @RequestParam String to) {
+        YearMonth first;
+        YearMonth last;
+        try {
+            first = YearMonth.parse(from);
+            last = YearMonth.parse(to);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Months must be formatted yyyy-MM");
+        }
+        if (last.isBefore(first)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "to must not be before from");
+        }
+
+        ArchiveSummary summary = orderArchive.summarize(startOf(first), startOf(last.plusMonths(1)));
+        List<PopularIngredient> ingredients = summary.ingredients().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> {
+                    Ingredient ingredient = ingredientCatalog.findById(entry.getKey());
+                    return new PopularIngredient(entry.getKey(), ingredient != null ? ingredient.getName() : null,
+                            ingredient != null ? ingredient.getType() : null, entry.getValue());
+                })
+                .toList();
+        return new ArchivedOrdersSummary(first.toString(), last.toString(), summary.orders(), summary.tacos(),
+                ingredients);
+    }
+
+    private static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
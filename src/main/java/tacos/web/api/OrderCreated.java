@@ -0,0 +1,4 @@
+package tacos.web.api;
+
+public record OrderCreated(long id, int tacos) {
+}
@@ -0,0 +1,41 @@
+package tacos.web.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import tacos.TacoOrder;
+
+import java.util.Date;
+
+/**
+ * Where a page of the order history ended: the last order's placement time and id, written as
+ * {@code <epoch millis>_<id>}. It carries everything the next page seeks on, so it still works once that order has been
+ * archived or deleted.
+ */
+record OrderCursor(Date placedAt, long id) {
+    private static final char SEPARATOR = '_';
+
+    static OrderCursor of(TacoOrder order) {
+        return new OrderCursor(order.getPlacedAt(), order.getId());
+    }
+
+    /**
+     * @throws ResponseStatusException with 400 Bad Request if the value is not a cursor from {@link #toString()}
+     */
+    static OrderCursor parse(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        try {
+            if (separator > 0) {
+                return new OrderCursor(new Date(Long.parseLong(value.substring(0, separator))),
+                        Long.parseLong(value.substring(separator + 1)));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not an order cursor: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(placedAt.getTime()) + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,61 @@
+package tacos.web.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tacos.data.OrderRepository;
+import tacos.export.OrderExport;
+import tacos.export.OrderExportFormat;
+
+/**
+ * Streams every order as NDJSON or CSV straight to the response, gzip-compressed for clients that accept it. Memory
+ * use does not depend on the number of orders; see {@link tacos.data.OrderExportRepository}.
+ */
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class OrderExportController {
+    private final OrderRepository orderRepo;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportController(OrderRepository orderRepo, ObjectMapper objectMapper) {
+        this.orderRepo = orderRepo;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/api/orders/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OrderExportFormat exportFormat;
+        try {
+            exportFormat = OrderExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders" + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            long exported = OrderExport.write(orderRepo, objectMapper, exportFormat, gzip, out);
+            log.info("Exported {} orders as {}", exported, exportFormat);
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package tacos.web.api;
+
+import java.util.List;
+
+/**
+ * @param next the {@code after} cursor for the following page, {@code null} on the last page
+ */
+public record OrderPage(List<OrderView> orders, String next) {
+}
@@ -0,0 +1,27 @@
+package tacos.web.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.CreditCardNumber;
+
+import java.util.List;
+
+/**
+ * An order placed through the JSON API, validated like the order form. Tacos name their ingredients by id.
+ */
+public record OrderSubmission(
+        @NotBlank(message = "Delivery name is required") String deliveryName,
+        @NotBlank(message = "Street is required") String deliveryStreet,
+        @NotBlank(message = "City is required") String deliveryCity,
+        @NotBlank(message = "State is required") String deliveryState,
+        @NotBlank(message = "Zip code is required") String deliveryZip,
+        @NotNull @CreditCardNumber(message = "Not a valid credit card number") String ccNumber,
+        @NotNull @Pattern(regexp = "^(0[1-9]|1[0-2])([\\/])([1-9][0-9])$", message = "Must be formatted MM/YY")
+        String ccExpiration,
+        @NotNull @Digits(integer = 3, fraction = 0, message = "Invalid CVV") String ccCvv,
+        @NotEmpty(message = "An order needs at least one taco") List<@Valid TacoSubmission> tacos) {
+}
@@ -0,0 +1,32 @@
+package tacos.web.api;
+
+import tacos.TacoOrder;
+import tacos.archive.ArchivedOrder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An order as the API shows it: delivery details and tacos, never payment details.
+ */
+public record OrderView(Long id, Date placedAt, String deliveryName, String deliveryStreet, String deliveryCity,
+                        String deliveryState, String deliveryZip, List<TacoView> tacos) {
+
+    static OrderView of(TacoOrder order, Map<Long, List<String>> ingredientIds) {
+        List<TacoView> tacos = order.getTacos().stream()
+                .map(taco -> new TacoView(taco.getId(), taco.getName(), taco.getCreatedAt(),
+                        ingredientIds.getOrDefault(taco.getId(), List.of())))
+                .toList();
+        return new OrderView(order.getId(), order.getPlacedAt(), order.getDeliveryName(), order.getDeliveryStreet(),
+                order.getDeliveryCity(), order.getDeliveryState(), order.getDeliveryZip(), tacos);
+    }
+
+    static OrderView of(ArchivedOrder order) {
+        List<TacoView> tacos = order.tacos().stream()
+                .map(taco -> new TacoView(taco.id(), taco.name(), taco.createdAt(), taco.ingredientIds()))
+                .toList();
+        return new OrderView(order.id(), order.placedAt(), order.deliveryName(), order.deliveryStreet(),
+                order.deliveryCity(), order.deliveryState(), order.deliveryZip(), tacos);
+    }
+}
@@ -0,0 +1,9 @@
+package tacos.web.api;
+
+import tacos.Ingredient.Type;
+
+/**
+ * One ingredient and the number of tacos ordered with it.
+ */
+public record PopularIngredient(String id, String name, Type type, long tacos) {
+}
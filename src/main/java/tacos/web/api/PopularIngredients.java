@@ -0,0 +1,12 @@
+package tacos.web.api;
+
+import tacos.Ingredient.Type;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most used ingredients over a window, and how many ingredients of each type went into tacos in it.
+ */
+public record PopularIngredients(String window, List<PopularIngredient> ingredients, Map<Type, Long> types) {
+}
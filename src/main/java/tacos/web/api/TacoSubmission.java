@@ -0,0 +1,11 @@
+package tacos.web.api;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TacoSubmission(
+        @NotNull @Size(min = 5, message = "Name must be at lease 5 characters long") String name,
+        @NotNull @Size(min = 1, message = "You must choose at least 1 ingredient") List<String> ingredients) {
+}
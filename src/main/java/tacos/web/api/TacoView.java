@@ -0,0 +1,7 @@
+package tacos.web.api;
+
+import java.util.Date;
+import java.util.List;
+
+public record TacoView(Long id, String name, Date createdAt, List<String> ingredients) {
+}
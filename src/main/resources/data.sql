@@ -1,33 +1,24 @@
 -- Below data is used when spring.jpa.hibernate.ddl-auto=none
+-- The whole catalog in one statement
 
 delete from Taco_Order_Tacos;
-delete from Taco_Ingredients;
 delete from Taco;
 delete from Taco_Order;
+delete from Recipe_Ingredients;
+delete from Recipe;
+delete from Order_Journal_Checkpoint;
+delete from Order_Archive_Segment;
 
 delete from Ingredient;
 
 insert into Ingredient (id, name, type)
-values ('FLTO', 'Flour Tortilla', 'WRAP');
-insert into Ingredient (id, name, type)
-values ('COTO', 'Corn Tortilla', 'WRAP');
-
-insert into Ingredient (id, name, type)
-values ('GRBF', 'Ground Beef', 'PROTEIN');
-insert into Ingredient (id, name, type)
-values ('CARN', 'Carnitas', 'PROTEIN');
-
-insert into Ingredient (id, name, type)
-values ('TMTO', 'Diced Tomatoes', 'VEGGIES');
-insert into Ingredient (id, name, type)
-values ('LETC', 'Lettuce', 'VEGGIES');
-
-insert into Ingredient (id, name, type)
-values ('CHED', 'Cheddar', 'CHEESE');
-insert into Ingredient (id, name, type)
-values ('JACK', 'Monterrey Jack', 'CHEESE');
-
-insert into Ingredient (id, name, type)
-values ('SLSA', 'Salsa', 'SAUCE');
-insert into Ingredient (id, name, type)
-values ('SRCR', 'Sour Cream', 'SAUCE');
\ No newline at end of file
+values ('FLTO', 'Flour Tortilla', 'WRAP'),
+       ('COTO', 'Corn Tortilla', 'WRAP'),
+       ('GRBF', 'Ground Beef', 'PROTEIN'),
+       ('CARN', 'Carnitas', 'PROTEIN'),
+       ('TMTO', 'Diced Tomatoes', 'VEGGIES'),
+       ('LETC', 'Lettuce', 'VEGGIES'),
+       ('CHED', 'Cheddar', 'CHEESE'),
+       ('JACK', 'Monterrey Jack', 'CHEESE'),
+       ('SLSA', 'Salsa', 'SAUCE'),
+       ('SRCR', 'Sour Cream', 'SAUCE');
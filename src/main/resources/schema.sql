@@ -4,14 +4,41 @@ create table if not exists Ingredient (
     type varchar(10) not null
 );
 
+create sequence if not exists Taco_Seq start with 1 increment by 50;
+create sequence if not exists Taco_Order_Seq start with 1 increment by 50;
+create sequence if not exists Recipe_Seq start with 1 increment by 50;
+
+-- One row per distinct combination of ingredients, shared by every taco made of it
+create table if not exists Recipe (
+    id bigint primary key,
+    ingredient_key varchar(255) not null unique
+);
+
+create table if not exists Recipe_Ingredients (
+    recipe_id bigint not null,
+    ingredients_id varchar(4) not null
+);
+
+alter table Recipe_Ingredients
+add foreign key (recipe_id) references Recipe(id);
+alter table Recipe_Ingredients
+add foreign key (ingredients_id) references Ingredient(id);
+create index if not exists Recipe_Ingredients_Recipe on Recipe_Ingredients (recipe_id, ingredients_id);
+
 create table if not exists Taco (
-    id identity,
+    id bigint primary key,
     name varchar(50) not null,
-    created_at timestamp not null
+    created_at timestamp not null,
+    recipe_id bigint not null,
+    -- Positions in the recipe's sorted ingredients in the order they were picked, null when picked in sorted order
+    ingredient_order varchar(255)
 );
 
+alter table Taco
+add foreign key (recipe_id) references Recipe(id);
+
 create table if not exists Taco_Order (
-    id identity,
+    id bigint primary key,
     delivery_name varchar(50) not null,
     delivery_street varchar(50) not null,
     delivery_city varchar(50) not null,
@@ -19,19 +46,13 @@ create table if not exists Taco_Order (
     delivery_zip varchar(10) not null,
     cc_number varchar(16) not null,
     cc_expiration varchar(5) not null,
-    cc_cvv varchar(3) not null,
+    -- Left empty for orders saved from the order journal, which never stores the CVV
+    cc_cvv varchar(3),
     placed_at timestamp not null
 );
 
-create table if not exists Taco_Ingredients (
-    taco_id bigint not null,
-    ingredients_id varchar(4) not null
-);
-
-alter table Taco_Ingredients
-add foreign key (taco_id) references Taco(id);
-alter table Taco_Ingredients
-add foreign key (ingredients_id) references Ingredient(id);
+-- Keyset pagination of the order history, newest first
+create index if not exists Taco_Order_Placed_At on Taco_Order (placed_at desc, id desc);
 
 create table if not exists Taco_Order_Tacos (
     taco_order_id bigint not null,
@@ -41,4 +62,18 @@ create table if not exists Taco_Order_Tacos (
 alter table Taco_Order_Tacos
 add foreign key (taco_order_id) references Taco_Order(id);
 alter table Taco_Order_Tacos
-add foreign key (tacos_id) references Taco(id);
\ No newline at end of file
+add foreign key (tacos_id) references Taco(id);
+create index if not exists Taco_Order_Tacos_Order on Taco_Order_Tacos (taco_order_id, tacos_id);
+
+-- Sequence of the last order journal entry saved to the tables above, see OrderJournalApplier
+create table if not exists Order_Journal_Checkpoint (
+    id int primary key,
+    applied_sequence bigint not null
+);
+
+-- Order archive segment files whose orders were deleted from the tables above, see OrderArchiver
+create table if not exists Order_Archive_Segment (
+    file_name varchar(64) primary key,
+    order_count int not null,
+    archived_at timestamp not null
+);
@@ -0,0 +1,102 @@
+package tacos;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tacos.web.AdaptiveConcurrencyLimiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.name=admission-control",
+        "taco.admission.enabled=true",
+        "taco.admission.initial-limit=1",
+        "taco.admission.min-limit=1",
+        "taco.admission.max-limit=1",
+        "taco.admission.client-burst=3",
+        "taco.admission.client-rate=0.01"
+})
+@AutoConfigureMockMvc
+class AdmissionControlTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testShedsWhenLimitReachedAndRateLimitsClients() throws Exception {
+        mockMvc.perform(design("10.0.0.1"))
+                .andExpect(status().is3xxRedirection());
+
+        // Another request holds the only slot
+        assertThat(limiter.tryAcquire()).isTrue();
+        try {
+            mockMvc.perform(design("10.0.0.1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            limiter.release(0, false);
+        }
+
+        mockMvc.perform(design("10.0.0.1"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(design("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(design("10.0.0.2"))
+                .andExpect(status().is3xxRedirection());
+
+        // Path parameters such as a session id don't start a new endpoint series
+        mockMvc.perform(design("/design;jsessionid=0123456789ABCDEF", "10.0.0.3"))
+                .andExpect(status().is3xxRedirection());
+
+        // Pages and assets are never held back
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/").with(request -> remote(request, "10.0.0.1")))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/design").with(request -> remote(request, "10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(count("admitted")).isEqualTo(4);
+        assertThat(count("shed")).isEqualTo(1);
+        assertThat(count("rate-limited")).isEqualTo(1);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("taco.admission.requests")
+                .tag("endpoint", "/design")
+                .tag("result", result)
+                .counter().count();
+    }
+
+    private static MockHttpServletRequestBuilder design(String client) {
+        return design("/design", client);
+    }
+
+    private static MockHttpServletRequestBuilder design(String uri, String client) {
+        return post(uri)
+                .param("name", "Admitted Taco")
+                .param("ingredients", "FLTO", "GRBF", "CHED")
+                .with(request -> remote(request, client));
+    }
+
+    private static MockHttpServletRequest remote(MockHttpServletRequest request, String client) {
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
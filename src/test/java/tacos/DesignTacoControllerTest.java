@@ -1,32 +1,44 @@
 package tacos;
 
+import org.hamcrest.Matcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import tacos.Ingredient.Type;
+import tacos.data.IngredientCatalog;
 import tacos.data.IngredientRepository;
 import tacos.data.OrderRepository;
 import tacos.data.TacoRepository;
 import tacos.web.DesignTacoController;
+import tacos.web.IngredientGridCache;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DesignTacoController.class)
+@Import({IngredientCatalog.class, IngredientGridCache.class})
 class DesignTacoControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
     private List<Ingredient> ingredients;
 
     private Taco taco;
@@ -94,4 +106,50 @@ class DesignTacoControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(header().stringValues("Location", "/orders/current"));
     }
+
+    @Test
+    void testDesignFormIsConditional() throws Exception {
+        String etag = mockMvc.perform(get("/design"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(content().string(containsString("value=\"FLTO\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/design").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testDesignFormETagChangesWithCatalog() throws Exception {
+        String etag = mockMvc.perform(get("/design"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        when(ingredientRepository.findAll())
+                .thenReturn(ingredients.subList(0, 9));
+        ingredientCatalog.refresh();
+
+        String refreshed = mockMvc.perform(get("/design").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("Sour Cream"))))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(refreshed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void testInvalidDesignKeepsChosenIngredients() throws Exception {
+        mockMvc.perform(post("/design")
+                .content("name=Tac&ingredients=FLTO&ingredients=CHED")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().isOk())
+                .andExpect(view().name("design"))
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().string(checked("FLTO")))
+                .andExpect(content().string(checked("CHED")))
+                .andExpect(content().string(not(checked("GRBF"))));
+    }
+
+    private static Matcher<String> checked(String ingredientId) {
+        return matchesRegex("(?s).*value=\"" + ingredientId + "\"\\s+checked=\"checked\".*");
+    }
 }
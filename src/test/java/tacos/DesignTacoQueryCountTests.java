@@ -0,0 +1,60 @@
+package tacos;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class DesignTacoQueryCountTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm up the ingredient catalog
+        mockMvc.perform(get("/design")).andExpect(status().isOk());
+        statistics.clear();
+    }
+
+    @Test
+    void testDesignPageIssuesNoQueries() throws Exception {
+        mockMvc.perform(get("/design"))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testProcessDesignIssuesNoQueries() throws Exception {
+        mockMvc.perform(post("/design")
+                        .param("name", "Test Taco")
+                        .param("ingredients", "FLTO", "GRBF", "CHED", "TMTO", "SLSA"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(post("/design")
+                        .param("name", "Single Ingredient Taco")
+                        .param("ingredients", "COTO"))
+                .andExpect(status().is3xxRedirection());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,58 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tacos.data.IngredientCatalog;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The fast-startup profile sets the database up from schema.sql and data.sql alone, so these tests also check that
+ * schema.sql still matches the entity mappings.
+ */
+@SpringBootTest(properties = "spring.datasource.name=fast-startup")
+@ActiveProfiles("fast-startup")
+@AutoConfigureMockMvc
+class FastStartupTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Test
+    void testSeedsCatalogFromDataSql() throws Exception {
+        assertThat(context.containsBean("dataLoader")).isFalse();
+        assertThat(ingredientCatalog.byType().values().stream().mapToInt(List::size).sum()).isEqualTo(10);
+
+        mockMvc.perform(get("/design"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSavesOrders() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                ReactiveOrderApiTests.order(List.of("FLTO", "GRBF", "CHED"), List.of("COTO", "CARN")))))
+                .andExpect(status().isCreated());
+    }
+}
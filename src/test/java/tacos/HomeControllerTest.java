@@ -4,16 +4,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import tacos.analytics.IngredientPopularity;
+import tacos.data.IngredientCatalog;
 import tacos.data.IngredientRepository;
 import tacos.data.OrderRepository;
+import tacos.data.RecipeInterner;
 import tacos.data.TacoRepository;
+import tacos.web.IngredientGridCache;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest
+@Import({IngredientCatalog.class, IngredientGridCache.class, IngredientPopularity.class})
 class HomeControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -27,6 +33,9 @@ class HomeControllerTest {
     @MockBean
     private OrderRepository orderRepository;
 
+    @MockBean
+    private RecipeInterner recipeInterner;
+
     @Test
     void testHomePage() throws Exception {
         mockMvc.perform(get("/"))
@@ -43,6 +43,6 @@ class HomePageBrowserTest {
         assertThat(h1Text).isEqualTo("Welcome to...");
 
         String imgSrc = webDriver.findElement(By.tagName("img")).getAttribute("src");
-        assertThat(imgSrc).isEqualTo(homePage + "/images/TacoCloud.png");
+        assertThat(imgSrc).matches(homePage + "/images/TacoCloud-[0-9a-f]{32}\\.png");
     }
 }
@@ -0,0 +1,84 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.name=kitchen-feed",
+        "taco.kitchen.feed.enabled=true"})
+@AutoConfigureMockMvc
+class KitchenOrderFeedTests {
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testStreamsCommittedOrdersAndResumesFromLastEventId() throws Exception {
+        MockHttpServletResponse display = openDisplay(null);
+
+        placeOrder(List.of("FLTO", "GRBF", "CHED"));
+        String firstEvent = awaitContent(display, "\"ingredients\":[\"FLTO\",\"GRBF\",\"CHED\"]");
+        assertThat(firstEvent).contains("event:order").contains("\"name\":\"Taco 1\"");
+
+        Matcher id = EVENT_ID.matcher(firstEvent);
+        assertThat(id.find()).isTrue();
+        String lastEventId = id.group(1);
+
+        placeOrder(List.of("COTO", "CARN"));
+        awaitContent(display, "\"ingredients\":[\"COTO\",\"CARN\"]");
+
+        // A display reconnecting after the first order only gets the second one
+        MockHttpServletResponse reconnected = openDisplay(lastEventId);
+        String missed = awaitContent(reconnected, "\"ingredients\":[\"COTO\",\"CARN\"]");
+        assertThat(missed).doesNotContain("FLTO").doesNotContain("event:resync");
+    }
+
+    private MockHttpServletResponse openDisplay(String lastEventId) throws Exception {
+        var display = get("/api/kitchen/orders").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            display.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(display)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private void placeOrder(List<String> ingredients) throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ReactiveOrderApiTests.order(ingredients))))
+                .andExpect(status().isCreated());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = response.getContentAsString();
+        while (!content.contains(expected)) {
+            assertThat(System.nanoTime()).as("event containing %s within 5 seconds", expected).isLessThan(deadline);
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+}
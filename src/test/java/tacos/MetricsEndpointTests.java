@@ -0,0 +1,35 @@
+package tacos;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsEndpointTests {
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void testPrometheusEndpointExposesTacoMetrics() {
+        assertThat(restTemplate.getForObject("/design", String.class)).contains("Design your taco!");
+
+        String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+        assertThat(scrape)
+                .contains("taco_web_requests_seconds_bucket{")
+                .contains("method=\"showDesignForm\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hikaricp_connections_active{")
+                .contains("hibernate_statements_total{")
+                .contains("hibernate_entities_loads_total{")
+                .contains("hibernate_flushes_total{")
+                .contains("taco_ingredients_catalog_requests_total{")
+                .contains("http_server_requests_seconds_bucket{");
+    }
+}
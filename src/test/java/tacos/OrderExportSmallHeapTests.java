@@ -0,0 +1,105 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tacos.data.OrderRepository;
+import tacos.export.OrderExport;
+import tacos.export.OrderExportFormat;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports far more orders than fit in the heap the {@code smallHeapTest} task runs this with; loading them as
+ * entities would run out of memory long before the end. The database lives on disk so that it does not count
+ * against the heap.
+ */
+@Tag("small-heap")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = "spring.jpa.show-sql=false")
+class OrderExportSmallHeapTests {
+    private static final int ORDERS = 200_000;
+    private static final int INSERT_CHUNK = 25_000;
+
+    @TempDir
+    static Path databaseDir;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + databaseDir.resolve("export") + ";CACHE_SIZE=8192");
+    }
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testExportsLargeDatasetInSmallHeap() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= 128 * 1024 * 1024, "Run through the smallHeapTest task");
+        generateOrders();
+
+        CountingOutputStream out = new CountingOutputStream();
+        long exported = OrderExport.write(orderRepo, objectMapper, OrderExportFormat.NDJSON, false, out);
+
+        assertThat(exported).isEqualTo(ORDERS);
+        assertThat(out.lines).isEqualTo(ORDERS);
+    }
+
+    // Two tacos of the same three-ingredient recipe per order, generated inside the database
+    private void generateOrders() {
+        jdbcTemplate.update("insert into recipe (id, ingredient_key) values (1, 'CHED,FLTO,GRBF')");
+        for (String ingredient : new String[]{"CHED", "FLTO", "GRBF"}) {
+            jdbcTemplate.update("insert into recipe_ingredients (recipe_id, ingredients_id) values (1, ?)", ingredient);
+        }
+        for (int from = 1; from <= ORDERS; from += INSERT_CHUNK) {
+            int to = Math.min(from + INSERT_CHUNK - 1, ORDERS);
+            jdbcTemplate.update("""
+                    insert into taco_order (id, placed_at, delivery_name, delivery_street, delivery_city,
+                        delivery_state, delivery_zip, cc_number, cc_expiration, cc_cvv)
+                    select x, dateadd('SECOND', x, timestamp '2023-01-01 00:00:00'), 'Customer ' || x,
+                        '1234 Test Lane', 'Testville', 'CA', '70123', '4111111111111111', '10/23', '123'
+                    from system_range(?, ?)""", from, to);
+            jdbcTemplate.update("""
+                    insert into taco (id, created_at, name, recipe_id)
+                    select x, timestamp '2023-01-01 00:00:00', 'Taco ' || x, 1 from system_range(?, ?)""",
+                    2 * from - 1, 2 * to);
+            jdbcTemplate.update("insert into taco_order_tacos (taco_order_id, tacos_id) "
+                    + "select (x + 1) / 2, x from system_range(?, ?)", 2 * from - 1, 2 * to);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
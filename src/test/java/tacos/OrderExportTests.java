@@ -0,0 +1,135 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tacos.Ingredient.Type;
+import tacos.data.OrderRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.name=order-export")
+@AutoConfigureMockMvc
+class OrderExportTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @BeforeEach
+    void setUp() {
+        if (orderRepo.count() > 0) {
+            return;
+        }
+        orderRepo.save(order("Iam Hungry", "1000 Food Blvd.", taco("Basic Taco", "FLTO", "GRBF", "CHED")));
+        orderRepo.save(order("Comma, \"Quoted\"", "1 Main St", taco("Taco One", "COTO", "CARN"),
+                taco("Taco Two", "FLTO", "SLSA")));
+    }
+
+    @Test
+    void testExportsNdjson() throws Exception {
+        MockHttpServletResponse response = export(get("/api/orders/export"));
+
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("deliveryName").asText()).isEqualTo("Comma, \"Quoted\"");
+        assertThat(second.get("tacos")).hasSize(2);
+        assertThat(second.get("tacos").get(1).get("name").asText()).isEqualTo("Taco Two");
+        assertThat(second.get("tacos").get(1).get("ingredients"))
+                .extracting(JsonNode::asText)
+                .containsExactlyInAnyOrder("FLTO", "SLSA");
+        assertThat(second.has("ccNumber")).isFalse();
+    }
+
+    @Test
+    void testExportsGzippedCsv() throws Exception {
+        MockHttpServletResponse response = export(get("/api/orders/export")
+                .param("format", "csv")
+                .header("Accept-Encoding", "gzip"));
+
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("order_id,placed_at,delivery_name,delivery_street,delivery_city,"
+                + "delivery_state,delivery_zip,taco_name,ingredients");
+        assertThat(lines.get(1)).contains(",Iam Hungry,1000 Food Blvd.,Testville,CA,70123,Basic Taco,");
+        assertThat(ingredients(lines.get(1))).containsExactlyInAnyOrder("FLTO", "GRBF", "CHED");
+        assertThat(lines.get(2)).contains(",\"Comma, \"\"Quoted\"\"\",1 Main St,");
+        assertThat(lines.get(3)).contains(",Taco Two,");
+        assertThat(ingredients(lines.get(3))).containsExactlyInAnyOrder("FLTO", "SLSA");
+    }
+
+    @Test
+    void testRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/orders/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse export(MockHttpServletRequestBuilder exportRequest) throws Exception {
+        MvcResult result = mockMvc.perform(exportRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private static String[] ingredients(String csvLine) {
+        return csvLine.substring(csvLine.lastIndexOf(',') + 1).split("\\|");
+    }
+
+    private static TacoOrder order(String deliveryName, String deliveryStreet, Taco... tacos) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(deliveryName);
+        order.setDeliveryStreet(deliveryStreet);
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("70123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/23");
+        order.setCcCvv("123");
+        for (Taco taco : tacos) {
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+    private static Taco taco(String name, String... ingredientIds) {
+        Taco taco = new Taco();
+        taco.setName(name);
+        for (String id : ingredientIds) {
+            taco.addIngredient(new Ingredient(id, id, Type.WRAP));
+        }
+        return taco;
+    }
+}
@@ -0,0 +1,166 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import tacos.Ingredient.Type;
+import tacos.data.OrderRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.name=order-history",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+class OrderHistoryApiTests {
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (orderRepo.count() > 0) {
+            return;
+        }
+
+        List<TacoOrder> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            TacoOrder order = new TacoOrder();
+            order.setDeliveryName("Customer " + i);
+            order.setDeliveryStreet("1234 Test Lane");
+            order.setDeliveryCity("Testville");
+            order.setDeliveryState("CA");
+            order.setDeliveryZip("70123");
+            order.setCcNumber("4111111111111111");
+            order.setCcExpiration("10/23");
+            order.setCcCvv("123");
+            for (int j = 0; j <= i % 3; j++) {
+                Taco taco = new Taco();
+                taco.setName("Taco " + i + "-" + j);
+                taco.addIngredient(new Ingredient("FLTO", "Flour Tortilla", Type.WRAP));
+                taco.addIngredient(new Ingredient("GRBF", "Ground Beef", Type.PROTEIN));
+                taco.addIngredient(new Ingredient("CHED", "Cheddar", Type.CHEESE));
+                order.addTaco(taco);
+            }
+            orders.add(order);
+        }
+        orderRepo.saveAll(orders);
+    }
+
+    @Test
+    void testPagesThroughAllOrdersNewestFirst() throws Exception {
+        List<JsonNode> orders = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            JsonNode page = fetch(after == null ? "/api/orders?limit=7" : "/api/orders?limit=7&after=" + after);
+            page.get("orders").forEach(orders::add);
+            after = page.get("next").isNull() ? null : page.get("next").asText();
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).extracting(order -> order.get("id").asLong()).doesNotHaveDuplicates();
+        for (int i = 1; i < orders.size(); i++) {
+            JsonNode newer = orders.get(i - 1);
+            JsonNode older = orders.get(i);
+            assertThat(newer.get("placedAt").asText()).isGreaterThanOrEqualTo(older.get("placedAt").asText());
+            assertThat(newer.get("id").asLong()).isGreaterThan(older.get("id").asLong());
+        }
+
+        JsonNode oldest = orders.get(ORDERS - 1);
+        assertThat(oldest.get("deliveryName").asText()).isEqualTo("Customer 0");
+        assertThat(oldest.get("tacos")).hasSize(1);
+        assertThat(oldest.get("tacos").get(0).get("ingredients"))
+                .extracting(JsonNode::asText)
+                .containsExactlyInAnyOrder("FLTO", "GRBF", "CHED");
+        assertThat(oldest.has("ccNumber")).isFalse();
+        assertThat(oldest.has("ccCvv")).isFalse();
+    }
+
+    @Test
+    void testCursorOutlivesTheOrderItPointsAt() throws Exception {
+        JsonNode first = fetch("/api/orders?limit=7");
+        JsonNode last = first.get("orders").get(6);
+        String after = first.get("next").asText();
+        List<Long> expected = new ArrayList<>();
+        fetch("/api/orders?limit=7&after=" + after).get("orders")
+                .forEach(order -> expected.add(order.get("id").asLong()));
+
+        // Archived while the client was paging
+        TacoOrder archived = orderRepo.findById(last.get("id").asLong()).orElseThrow();
+        orderRepo.delete(archived);
+        try {
+            JsonNode second = fetch("/api/orders?limit=7&after=" + after);
+            assertThat(second.get("orders")).extracting(order -> order.get("id").asLong())
+                    .containsExactlyElementsOf(expected);
+            assertThat(second.get("next").isNull()).isFalse();
+        } finally {
+            // Put an order back so every test sees the same number
+            TacoOrder copy = new TacoOrder();
+            copy.setDeliveryName(archived.getDeliveryName());
+            copy.setDeliveryStreet(archived.getDeliveryStreet());
+            copy.setDeliveryCity(archived.getDeliveryCity());
+            copy.setDeliveryState(archived.getDeliveryState());
+            copy.setDeliveryZip(archived.getDeliveryZip());
+            copy.setCcNumber(archived.getCcNumber());
+            copy.setCcExpiration(archived.getCcExpiration());
+            copy.setCcCvv(archived.getCcCvv());
+            orderRepo.save(copy);
+        }
+    }
+
+    @Test
+    void testRejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/orders?after=12345"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, ORDERS})
+    void testQueryCountDoesNotGrowWithPageSize(int limit) throws Exception {
+        statistics.clear();
+
+        JsonNode page = fetch("/api/orders?limit=" + limit);
+
+        assertThat(page.get("orders")).hasSize(limit);
+        // Page ids, orders with their tacos, and the tacos' ingredient ids
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private JsonNode fetch(String uri) throws Exception {
+        String json = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,104 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import tacos.data.OrderRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The servlet side of the JSON order API; {@link ReactiveOrderApiTests} covers the same requests on the reactive
+ * profile.
+ */
+@SpringBootTest(properties = "spring.datasource.name=order-submission")
+@AutoConfigureMockMvc
+class OrderSubmissionApiTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Test
+    void testListsIngredientsByType() throws Exception {
+        mockMvc.perform(get("/api/ingredients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.WRAP.length()").value(2))
+                .andExpect(jsonPath("$.PROTEIN[?(@.id == 'GRBF')].name").value("Ground Beef"))
+                .andExpect(jsonPath("$.SAUCE.length()").value(2));
+    }
+
+    @Test
+    @Transactional
+    void testSavesOrderWithTacosAndIngredients() throws Exception {
+        String body = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                ReactiveOrderApiTests.order(List.of("FLTO", "GRBF", "CHED"), List.of("COTO", "CARN")))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tacos").value(2))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode created = objectMapper.readTree(body);
+        TacoOrder order = orderRepo.findById(created.get("id").asLong()).orElseThrow();
+        assertThat(order.getTacos())
+                .flatExtracting(Taco::getIngredients)
+                .extracting(Ingredient::getId)
+                .containsExactly("FLTO", "GRBF", "CHED", "COTO", "CARN");
+    }
+
+    @Test
+    void testCountsSubmittedOrdersInPopularIngredients() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                ReactiveOrderApiTests.order(List.of("FLTO", "JACK"), List.of("COTO", "JACK")))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/ingredients/popular").param("window", "1m").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("1m"))
+                .andExpect(jsonPath("$.ingredients[?(@.id == 'JACK')].name").value("Monterrey Jack"))
+                .andExpect(jsonPath("$.ingredients[?(@.id == 'JACK')].tacos").value(2));
+
+        mockMvc.perform(get("/api/ingredients/popular").param("window", "2h"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRejectsUnknownIngredient() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ReactiveOrderApiTests.order(List.of("FLTO", "NOPE")))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRejectsInvalidOrder() throws Exception {
+        Map<String, Object> order = new HashMap<>(ReactiveOrderApiTests.order(List.of("FLTO")));
+        order.put("ccNumber", "1234");
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,106 @@
+package tacos;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-orders?options=DB_CLOSE_DELAY=-1")
+@ActiveProfiles("reactive")
+class ReactiveOrderApiTests {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void testListsIngredientsByType() {
+        webTestClient.get().uri("/api/ingredients")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.WRAP.length()").isEqualTo(2)
+                .jsonPath("$.PROTEIN[?(@.id == 'GRBF')].name").isEqualTo("Ground Beef")
+                .jsonPath("$.SAUCE.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testSavesOrderWithTacosAndIngredients() {
+        Map<String, Object> created = webTestClient.post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(order(List.of("FLTO", "GRBF", "CHED"), List.of("COTO", "CARN")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(created).containsEntry("tacos", 2);
+        long orderId = ((Number) created.get("id")).longValue();
+
+        List<String> ingredients = databaseClient.sql("""
+                        select ri.ingredients_id from Taco_Order_Tacos ot
+                        join Taco t on t.id = ot.tacos_id
+                        join Recipe_Ingredients ri on ri.recipe_id = t.recipe_id
+                        where ot.taco_order_id = :id order by ri.ingredients_id""")
+                .bind("id", orderId)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collectList()
+                .block();
+        assertThat(ingredients).containsExactly("CARN", "CHED", "COTO", "FLTO", "GRBF");
+    }
+
+    @Test
+    void testRejectsUnknownIngredient() {
+        webTestClient.post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(order(List.of("FLTO", "NOPE")))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testRejectsInvalidOrder() {
+        Map<String, Object> order = new HashMap<>(order(List.of("FLTO")));
+        order.put("ccNumber", "1234");
+
+        webTestClient.post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(order)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @SafeVarargs
+    static Map<String, Object> order(List<String>... tacoIngredients) {
+        List<Map<String, Object>> tacos = new ArrayList<>();
+        for (List<String> ingredients : tacoIngredients) {
+            tacos.add(Map.of("name", "Taco " + (tacos.size() + 1), "ingredients", ingredients));
+        }
+        return Map.of(
+                "deliveryName", "Test Customer",
+                "deliveryStreet", "1234 Test Lane",
+                "deliveryCity", "Testville",
+                "deliveryState", "CA",
+                "deliveryZip", "70123",
+                "ccNumber", "4111111111111111",
+                "ccExpiration", "10/23",
+                "ccCvv", "123",
+                "tacos", tacos);
+    }
+}
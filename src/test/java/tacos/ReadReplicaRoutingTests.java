@@ -0,0 +1,77 @@
+package tacos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "taco.datasource.routing.primary.url=" + ReadReplicaRoutingTests.PRIMARY_URL,
+        "taco.datasource.routing.replicas[0].url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "taco.datasource.routing.replicas[0].maximum-pool-size=20",
+        "taco.datasource.routing.replicas[0].init-scripts=classpath:schema.sql,classpath:data.sql"
+})
+@ActiveProfiles("replicas")
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTests {
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testReadsFromReplicaAndWritesToPrimary() throws Exception {
+        long ordersBefore = count(PRIMARY_URL, "Taco_Order");
+
+        mockMvc.perform(get("/api/ingredients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.WRAP.length()").value(2));
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                ReactiveOrderApiTests.order(List.of("FLTO", "GRBF", "CHED")))))
+                .andExpect(status().isCreated());
+
+        assertThat(count(PRIMARY_URL, "Taco_Order")).isEqualTo(ordersBefore + 1);
+        assertThat(count(REPLICA_URL, "Taco_Order")).isZero();
+
+        assertThat(meterRegistry.get("taco.datasource.connections").tag("route", "replica-1")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "taco-replica-1").gauge().value())
+                .isEqualTo(20);
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "taco-primary").gauge().value())
+                .isEqualTo(10);
+    }
+
+    private static long count(String url, String table) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             ResultSet rows = connection.createStatement().executeQuery("select count(*) from " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
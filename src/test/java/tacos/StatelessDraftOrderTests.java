@@ -0,0 +1,110 @@
+package tacos;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the design -> order flow across two independent nodes, which only works if the draft travels with the
+ * customer rather than living in either node's session.
+ */
+class StatelessDraftOrderTests {
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void testDraftFollowsCustomerAcrossNodes() throws Exception {
+        CookieManager cookies = new CookieManager();
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        assertThat(send(client, post(nodeA, "/design", "name=Basic+Taco&ingredients=FLTO&ingredients=GRBF")))
+                .isEqualTo(302);
+        assertThat(send(client, post(nodeB, "/design", "name=Another+Taco&ingredients=COTO&ingredients=CARN")))
+                .isEqualTo(302);
+        assertThat(send(client, post(nodeA, "/orders", "deliveryName=Iam+Hungry&deliveryStreet=1000+Food+Blvd."
+                + "&deliveryCity=Foodsville&deliveryState=CA&deliveryZip=90011"
+                + "&ccNumber=4111111111111111&ccExpiration=12%2F29&ccCvv=123")))
+                .isEqualTo(302);
+
+        JdbcTemplate jdbcA = nodeA.getBean(JdbcTemplate.class);
+        assertThat(jdbcA.queryForObject("select count(*) from Taco_Order", Integer.class)).isEqualTo(1);
+        assertThat(jdbcA.queryForObject("select count(*) from Taco_Order_Tacos", Integer.class)).isEqualTo(2);
+        assertThat(cookies.getCookieStore().getCookies())
+                .extracting(HttpCookie::getName)
+                .doesNotContain("JSESSIONID");
+    }
+
+    @Test
+    void testOrderWithoutDraftGoesBackToDesign() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        HttpRequest order = HttpRequest.newBuilder(post(nodeB, "/orders", "deliveryName=Iam+Hungry"
+                        + "&deliveryStreet=1000+Food+Blvd.&deliveryCity=Foodsville&deliveryState=CA"
+                        + "&deliveryZip=90011&ccNumber=4111111111111111&ccExpiration=12%2F29&ccCvv=123"), (n, v) -> true)
+                .header("Cookie", "TACO_DRAFT=tampered")
+                .build();
+        HttpResponse<Void> response = client.send(order, BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(302);
+        assertThat(response.headers().firstValue("Location")).hasValueSatisfying(
+                location -> assertThat(location).endsWith("/design"));
+        JdbcTemplate jdbcB = nodeB.getBean(JdbcTemplate.class);
+        assertThat(jdbcB.queryForObject("select count(*) from Taco_Order", Integer.class)).isZero();
+    }
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        return new SpringApplicationBuilder(TacoCloudApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.name=" + name,
+                        "spring.jpa.show-sql=false",
+                        "taco.draft.storage=cookie",
+                        "taco.draft.secret=shared-test-secret")
+                .run();
+    }
+
+    private static int send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, BodyHandlers.discarding());
+        return response.statusCode();
+    }
+
+    private static HttpRequest post(ConfigurableApplicationContext node, String path, String form) {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(BodyPublishers.ofString(form))
+                .build();
+    }
+}
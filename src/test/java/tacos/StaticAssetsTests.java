@@ -0,0 +1,78 @@
+package tacos;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class StaticAssetsTests {
+    private static final Pattern STYLESHEET = Pattern.compile("href=\"(/styles-[0-9a-f]{32}\\.css)\"");
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testPagesLinkFingerprintedAssets() throws Exception {
+        String page = client.send(request("/design").build(), BodyHandlers.ofString()).body();
+
+        assertThat(page).containsPattern(STYLESHEET);
+        assertThat(page).containsPattern("src=\"/images/TacoCloud-[0-9a-f]{32}\\.png\"");
+    }
+
+    @Test
+    void testServesPrecompressedAssetWithImmutableCaching() throws Exception {
+        String page = client.send(request("/design").build(), BodyHandlers.ofString()).body();
+        Matcher stylesheet = STYLESHEET.matcher(page);
+        assertThat(stylesheet.find()).isTrue();
+
+        HttpResponse<byte[]> plain = client.send(request(stylesheet.group(1)).build(), BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzipped = client.send(request(stylesheet.group(1))
+                .header("Accept-Encoding", "gzip")
+                .build(), BodyHandlers.ofByteArray());
+
+        assertThat(plain.statusCode()).isEqualTo(200);
+        assertThat(plain.headers().firstValue("Cache-Control")).hasValueSatisfying(cacheControl ->
+                assertThat(cacheControl).contains("max-age=31536000", "immutable"));
+
+        assertThat(gzipped.statusCode()).isEqualTo(200);
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).contains("Accept-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.body());
+        }
+    }
+
+    @Test
+    void testPlainAssetUrlsRevalidate() throws Exception {
+        HttpResponse<byte[]> plain = client.send(request("/styles.css").build(), BodyHandlers.ofByteArray());
+
+        assertThat(plain.statusCode()).isEqualTo(200);
+        assertThat(plain.headers().firstValue("Cache-Control")).hasValueSatisfying(cacheControl ->
+                assertThat(cacheControl).contains("no-cache").doesNotContain("immutable", "max-age=31536000"));
+        String lastModified = plain.headers().firstValue("Last-Modified").orElseThrow();
+
+        HttpResponse<byte[]> revalidated = client.send(request("/styles.css")
+                .header("If-Modified-Since", lastModified)
+                .build(), BodyHandlers.ofByteArray());
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+}
@@ -0,0 +1,133 @@
+package tacos.analytics;
+
+import org.junit.jupiter.api.Test;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.analytics.IngredientPopularity.IngredientCount;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientPopularityTests {
+    private final MutableClock clock = new MutableClock(Instant.parse("2022-12-01T12:00:00Z"));
+    private final IngredientPopularity popularity = new IngredientPopularity(clock);
+
+    @Test
+    void testRanksIngredientsByTacos() {
+        popularity.recordOrder(order(List.of("FLTO", "GRBF", "CHED"), List.of("FLTO", "CARN"), List.of("COTO", "GRBF")));
+
+        assertThat(popularity.top(PopularityWindow.ONE_MINUTE, 3)).containsExactly(
+                new IngredientCount("FLTO", Type.WRAP, 2),
+                new IngredientCount("GRBF", Type.PROTEIN, 2),
+                new IngredientCount("CARN", Type.PROTEIN, 1));
+        assertThat(popularity.byType(PopularityWindow.ONE_MINUTE))
+                .containsEntry(Type.WRAP, 3L)
+                .containsEntry(Type.PROTEIN, 3L)
+                .containsEntry(Type.CHEESE, 1L)
+                .containsEntry(Type.SAUCE, 0L);
+    }
+
+    @Test
+    void testOlderCountsSlideOutOfShorterWindows() {
+        popularity.recordOrder(order(List.of("FLTO")));
+        clock.advance(Duration.ofMinutes(2));
+        popularity.recordOrder(order(List.of("FLTO")));
+
+        assertThat(count(PopularityWindow.ONE_MINUTE)).isEqualTo(1);
+        assertThat(count(PopularityWindow.FIFTEEN_MINUTES)).isEqualTo(2);
+
+        clock.advance(Duration.ofMinutes(15));
+        assertThat(popularity.top(PopularityWindow.ONE_MINUTE, 10)).isEmpty();
+        assertThat(popularity.top(PopularityWindow.FIFTEEN_MINUTES, 10)).isEmpty();
+        assertThat(count(PopularityWindow.ONE_DAY)).isEqualTo(2);
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(popularity.top(PopularityWindow.ONE_DAY, 10)).isEmpty();
+    }
+
+    @Test
+    void testCountsEveryConcurrentOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    for (int order = 0; order < 10_000; order++) {
+                        popularity.recordOrder(order(List.of("FLTO", "GRBF")));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(count(PopularityWindow.ONE_MINUTE)).isEqualTo(80_000);
+        assertThat(popularity.byType(PopularityWindow.ONE_DAY)).containsEntry(Type.PROTEIN, 80_000L);
+    }
+
+    private long count(PopularityWindow window) {
+        return popularity.top(window, 1).get(0).count();
+    }
+
+    @SafeVarargs
+    private static TacoOrder order(List<String>... tacoIngredients) {
+        TacoOrder order = new TacoOrder();
+        for (List<String> ids : tacoIngredients) {
+            Taco taco = new Taco();
+            ids.forEach(id -> taco.addIngredient(new Ingredient(id, id, type(id))));
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+    private static Type type(String id) {
+        return switch (id) {
+            case "FLTO", "COTO" -> Type.WRAP;
+            case "GRBF", "CARN" -> Type.PROTEIN;
+            default -> Type.CHEESE;
+        };
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
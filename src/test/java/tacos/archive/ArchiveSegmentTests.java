@@ -0,0 +1,91 @@
+package tacos.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tacos.archive.ArchivedOrder.ArchivedTaco;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveSegmentTests {
+    private static final long START = 1_577_880_000_000L;
+    private static final List<String> INGREDIENTS = List.of("FLTO", "COTO", "GRBF", "CARN", "CHED", "SLSA");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsBackEveryOrderOldestFirst() throws Exception {
+        List<ArchivedOrder> orders = orders(500);
+        Path file = directory.resolve(ArchiveSegment.fileName(YearMonth.of(2020, 1), 1000));
+        List<ArchivedOrder> reversed = new ArrayList<>(orders);
+        Collections.reverse(reversed);
+        ArchiveSegment.write(file, reversed);
+
+        ArchiveSegment segment = ArchiveSegment.open(file);
+
+        assertThat(segment.orderCount()).isEqualTo(500);
+        assertThat(segment.orders()).isEqualTo(orders);
+        assertThat(segment.find(orders.get(123).id())).isEqualTo(orders.get(123));
+        assertThat(segment.find(999)).isNull();
+        assertThat(segment.find(1001)).isNull();
+    }
+
+    @Test
+    void testSummarizesOrdersInRange() throws Exception {
+        List<ArchivedOrder> orders = orders(100);
+        Path file = directory.resolve(ArchiveSegment.fileName(YearMonth.of(2020, 1), 1000));
+        ArchiveSegment.write(file, orders);
+
+        ArchiveSegment segment = ArchiveSegment.open(file);
+        long from = orders.get(10).placedAt().getTime();
+        long to = orders.get(20).placedAt().getTime();
+        ArchiveSummary summary = segment.summarize(from, to);
+
+        List<ArchivedOrder> inRange = orders.subList(10, 20);
+        assertThat(summary.orders()).isEqualTo(10);
+        assertThat(summary.tacos()).isEqualTo(inRange.stream().mapToLong(order -> order.tacos().size()).sum());
+        assertThat(summary.ingredients().get("FLTO")).isEqualTo(inRange.stream()
+                .flatMap(order -> order.tacos().stream())
+                .filter(taco -> taco.ingredientIds().contains("FLTO"))
+                .count());
+        assertThat(segment.summarize(0, START)).isEqualTo(new ArchiveSummary(0, 0, Map.of()));
+    }
+
+    @Test
+    void testCompressesRepetitiveColumns() throws Exception {
+        List<ArchivedOrder> orders = orders(5000);
+        Path file = directory.resolve(ArchiveSegment.fileName(YearMonth.of(2020, 1), 1000));
+        ArchiveSegment.write(file, orders);
+
+        // Names and streets are unique per order, yet each whole order fits in a few dozen bytes
+        assertThat(Files.size(file) / orders.size()).isLessThan(40);
+    }
+
+    private static List<ArchivedOrder> orders(int count) {
+        List<ArchivedOrder> orders = new ArrayList<>(count);
+        long placedAt = START;
+        for (int i = 0; i < count; i++) {
+            placedAt += 1000 + (i * 7919L) % 60_000;
+            List<ArchivedTaco> tacos = new ArrayList<>();
+            for (int j = 0; j <= i % 3; j++) {
+                List<String> ingredientIds = new ArrayList<>();
+                for (int k = 0; k < (i + j) % 4; k++) {
+                    ingredientIds.add(INGREDIENTS.get((i + j + k) % INGREDIENTS.size()));
+                }
+                tacos.add(new ArchivedTaco(3L * i + j, "Taco " + i % 20, new Date(placedAt - 500), ingredientIds));
+            }
+            orders.add(new ArchivedOrder(1000 + 2L * i, new Date(placedAt), "Customer " + i, i + " Test Lane",
+                    "Testville", i % 10 == 0 ? null : "CA", "70123", tacos));
+        }
+        return orders;
+    }
+}
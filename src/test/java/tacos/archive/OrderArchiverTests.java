@@ -0,0 +1,181 @@
+package tacos.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.OrderArchiveSegment;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.archive.ArchivedOrder.ArchivedTaco;
+import tacos.data.OrderArchiveSegmentRepository;
+import tacos.data.OrderRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.name=order-archive",
+        "taco.orders.archive.enabled=true",
+        "taco.orders.archive.batch-size=5",
+        "taco.orders.archive.interval=1d"
+})
+@AutoConfigureMockMvc
+class OrderArchiverTests {
+    private static final Ingredient FLTO = new Ingredient("FLTO", "Flour Tortilla", Type.WRAP);
+    private static final Ingredient GRBF = new Ingredient("GRBF", "Ground Beef", Type.PROTEIN);
+    private static final Ingredient CHED = new Ingredient("CHED", "Cheddar", Type.CHEESE);
+    private static final Ingredient SLSA = new Ingredient("SLSA", "Salsa", Type.SAUCE);
+
+    @TempDir
+    static Path archiveDir;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("taco.orders.archive.directory", archiveDir::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderArchiver archiver;
+
+    @Autowired
+    private OrderArchive archive;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private OrderArchiveSegmentRepository segmentRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMovesOldOrdersIntoMonthlySegments() throws Exception {
+        // Twelve orders spread over January to March 2020, and two recent ones
+        List<TacoOrder> old = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            TacoOrder order = order("Archived Customer " + i, 1 + i % 2);
+            Ingredient topping = i % 2 == 0 ? CHED : SLSA;
+            order.getTacos().forEach(taco -> taco.addIngredient(topping));
+            order.setPlacedAt(Date.from(LocalDate.of(2020, 1 + i % 3, 1 + i).atStartOfDay()
+                    .toInstant(ZoneOffset.UTC)));
+            old.add(order);
+        }
+        orderRepo.saveAll(old);
+        orderRepo.saveAll(List.of(order("Recent Customer 1", 1), order("Recent Customer 2", 1)));
+
+        assertThat(archiver.archivePlacedBefore(Instant.parse("2021-01-01T00:00:00Z"))).isEqualTo(12);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from Taco_Order where delivery_name like 'Archived Customer %'", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from Taco_Order where delivery_name like 'Recent Customer %'", Integer.class))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from Taco where name like 'Archived Customer %'", Integer.class)).isZero();
+
+        List<Path> segments = segmentFiles("orders-2020-");
+        assertThat(segments).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(segments).allSatisfy(file ->
+                assertThat(segmentRepo.existsById(file.getFileName().toString())).isTrue());
+
+        TacoOrder first = old.get(0);
+        mockMvc.perform(get("/api/orders/archive/" + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deliveryName").value("Archived Customer 0"))
+                .andExpect(jsonPath("$.placedAt").value("2020-01-01T00:00:00.000+00:00"))
+                .andExpect(jsonPath("$.tacos.length()").value(1))
+                .andExpect(jsonPath("$.tacos[0].ingredients", containsInAnyOrder("FLTO", "GRBF", "CHED")));
+        mockMvc.perform(get("/api/orders/archive/" + (first.getId() - 1000)))
+                .andExpect(status().isNotFound());
+
+        // January and February: orders 0, 1, 3, 4, 6, 7, 9 and 10, with one taco each for even and two for odd ones
+        mockMvc.perform(get("/api/orders/archive/summary").param("from", "2020-01").param("to", "2020-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(8))
+                .andExpect(jsonPath("$.tacos").value(12))
+                .andExpect(jsonPath("$.ingredients[0].id").value("FLTO"))
+                .andExpect(jsonPath("$.ingredients[0].name").value("Flour Tortilla"))
+                .andExpect(jsonPath("$.ingredients[0].tacos").value(12))
+                .andExpect(jsonPath("$.ingredients[?(@.id == 'SLSA')].tacos").value(8))
+                .andExpect(jsonPath("$.ingredients[?(@.id == 'CHED')].tacos").value(4));
+        mockMvc.perform(get("/api/orders/archive/summary").param("from", "2020-13").param("to", "2020-02"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFinishesSegmentsLeftPendingByACrash() throws Exception {
+        // Both were written, but only the first one's transaction committed
+        String committed = ArchiveSegment.fileName(YearMonth.of(2019, 5), 900_000_001);
+        String rolledBack = ArchiveSegment.fileName(YearMonth.of(2019, 6), 900_000_002);
+        ArchiveSegment.write(archiveDir.resolve(committed + ".pending"), List.of(archived(900_000_001, "2019-05-04")));
+        ArchiveSegment.write(archiveDir.resolve(rolledBack + ".pending"), List.of(archived(900_000_002, "2019-06-04")));
+        segmentRepo.save(new OrderArchiveSegment(committed, 1, new Date()));
+
+        archiver.recoverPendingSegments();
+
+        assertThat(segmentFiles("orders-2019-")).extracting(file -> file.getFileName().toString())
+                .containsExactly(committed);
+        assertThat(archive.findById(900_000_001)).isPresent();
+        assertThat(archive.findById(900_000_002)).isEmpty();
+    }
+
+    private static List<Path> segmentFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private static ArchivedOrder archived(long id, String placedOn) {
+        Date placedAt = Date.from(LocalDate.parse(placedOn).atStartOfDay().toInstant(ZoneOffset.UTC));
+        return new ArchivedOrder(id, placedAt, "Pending Customer", "1234 Test Lane", "Testville", "CA", "70123",
+                List.of(new ArchivedTaco(id, "Pending Taco", placedAt, List.of("FLTO", "GRBF"))));
+    }
+
+    private static TacoOrder order(String deliveryName, int tacos) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(deliveryName);
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("70123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/23");
+        order.setCcCvv("123");
+        for (int i = 0; i < tacos; i++) {
+            Taco taco = new Taco();
+            taco.setName(deliveryName + " taco " + i);
+            taco.addIngredient(FLTO);
+            taco.addIngredient(GRBF);
+            order.addTaco(taco);
+        }
+        return order;
+    }
+}
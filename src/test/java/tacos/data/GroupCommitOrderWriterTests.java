@@ -0,0 +1,163 @@
+package tacos.data;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tacos.TacoOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GroupCommitOrderWriterTests {
+    private OrderRepository orderRepo;
+    private PlatformTransactionManager transactionManager;
+    private OrderIngestionProps props;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private GroupCommitOrderWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        orderRepo = mock(OrderRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        props = new OrderIngestionProps();
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(20);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void testSavesConcurrentOrdersInGroups() throws Exception {
+        AtomicInteger transactions = new AtomicInteger();
+        AtomicInteger saved = new AtomicInteger();
+        when(orderRepo.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<TacoOrder> orders = invocation.getArgument(0);
+            transactions.incrementAndGet();
+            orders.forEach(order -> saved.incrementAndGet());
+            Thread.sleep(50);
+            return orders;
+        });
+        writer = startWriter();
+
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> writer.write(new TacoOrder())));
+        }
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(saved).hasValue(20);
+        assertThat(transactions.get()).isLessThan(20);
+        assertThat(meterRegistry.get("taco.orders.ingestion.group.size").summary().count())
+                .isEqualTo(transactions.get());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        props.setQueueCapacity(1);
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepo.saveAll(any())).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        writer = startWriter();
+
+        Future<?> first = executor.submit(() -> writer.write(new TacoOrder()));
+        assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<?> second = executor.submit(() -> writer.write(new TacoOrder()));
+        while (writer.queueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> writer.write(new TacoOrder()))
+                .isInstanceOf(OrderQueueFullException.class);
+        assertThat(meterRegistry.get("taco.orders.ingestion.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testKeepsWritingAfterAnErrorFailsAGroup() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        when(orderRepo.saveAll(any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new OutOfMemoryError("Simulated");
+            }
+            return invocation.getArgument(0);
+        });
+        writer = startWriter();
+
+        Future<?> failed = executor.submit(() -> writer.write(new TacoOrder()));
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .hasRootCauseInstanceOf(OutOfMemoryError.class);
+
+        executor.submit(() -> writer.write(new TacoOrder())).get(5, TimeUnit.SECONDS);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void testGivesUpWaitingAfterCommitTimeout() throws Exception {
+        props.setCommitTimeout(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepo.saveAll(any())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+        writer = startWriter();
+
+        try {
+            assertThatThrownBy(() -> writer.write(new TacoOrder()))
+                    .isInstanceOf(OrderCommitPendingException.class)
+                    .hasMessageContaining("may still be placed");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testRejectsOrdersOnceStopped() throws Exception {
+        writer = startWriter();
+        writer.stop();
+
+        assertThatThrownBy(() -> writer.write(new TacoOrder()))
+                .isInstanceOf(OrderWriterStoppedException.class);
+        assertThat(writer.queueDepth()).isZero();
+        assertThat(meterRegistry.get("taco.orders.ingestion.rejected").counter().count()).isZero();
+    }
+
+    private GroupCommitOrderWriter startWriter() {
+        GroupCommitOrderWriter writer = new GroupCommitOrderWriter(orderRepo, mock(RecipeInterner.class),
+                transactionManager, props, meterRegistry);
+        writer.start();
+        return writer;
+    }
+}
@@ -0,0 +1,63 @@
+package tacos.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IngredientCatalogTests {
+    private IngredientRepository ingredientRepo;
+    private IngredientCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        ingredientRepo = mock(IngredientRepository.class);
+        when(ingredientRepo.findAll()).thenReturn(List.of(
+                new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+                new Ingredient("COTO", "Corn Tortilla", Type.WRAP)));
+
+        catalog = new IngredientCatalog(ingredientRepo);
+    }
+
+    @Test
+    void testGroupsIngredientsByType() {
+        Map<Type, List<Ingredient>> byType = catalog.byType();
+
+        assertThat(byType).containsOnlyKeys(Type.values());
+        assertThat(byType.get(Type.WRAP)).containsExactly(
+                new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("COTO", "Corn Tortilla", Type.WRAP));
+        assertThat(byType.get(Type.PROTEIN)).containsExactly(new Ingredient("GRBF", "Ground Beef", Type.PROTEIN));
+        assertThat(byType.get(Type.SAUCE)).isEmpty();
+    }
+
+    @Test
+    void testLoadsOnceUntilRefreshed() {
+        catalog.byType();
+        catalog.byType();
+        catalog.byType();
+
+        verify(ingredientRepo, times(1)).findAll();
+        assertThat(catalog.getMisses()).isEqualTo(1);
+        assertThat(catalog.getHits()).isEqualTo(2);
+
+        long version = catalog.version();
+        catalog.refresh();
+        catalog.byType();
+
+        verify(ingredientRepo, times(2)).findAll();
+        assertThat(catalog.getRefreshes()).isEqualTo(1);
+        assertThat(catalog.getMisses()).isEqualTo(2);
+        assertThat(catalog.version()).isGreaterThan(version);
+    }
+}
@@ -1,22 +1,34 @@
 package tacos.data;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import tacos.Ingredient;
 import tacos.Ingredient.Type;
 import tacos.Taco;
 import tacos.TacoOrder;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(RecipeInterner.class)
 class OrderRepositoryTests {
     @Autowired
     OrderRepository orderRepo;
 
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    RecipeInterner recipeInterner;
+
     @Test
     void testSaveOrderWithTwoTacos() {
         TacoOrder order = new TacoOrder();
@@ -61,4 +73,43 @@ class OrderRepositoryTests {
                 .hasSize(2)
                 .containsExactlyInAnyOrder(taco1, taco2);
     }
+
+    @Test
+    void testSaveCateringOrderBatchesInserts() {
+        List<Ingredient> ingredients = List.of(
+                new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+                new Ingredient("CHED", "Cheddar", Type.CHEESE));
+        recipeInterner.intern(ingredients);
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Catering McTest");
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("70123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/23");
+        order.setCcCvv("123");
+
+        for (int i = 0; i < 40; i++) {
+            Taco taco = new Taco();
+            taco.setName("Catering Taco " + i);
+            taco.setIngredients(new ArrayList<>(ingredients));
+            order.addTaco(taco);
+        }
+
+        orderRepo.save(order);
+        entityManager.flush();
+
+        // 81 rows: 1 order, 40 tacos and 40 order tacos; the tacos share the recipe interned above rather than
+        // adding 120 ingredient rows. Row-by-row IDENTITY inserts would need one statement each; pooled sequences
+        // and JDBC batching need a couple of sequence calls plus one statement per batch of 50.
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(41);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(12);
+    }
 }
@@ -0,0 +1,146 @@
+package tacos.data;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.name=recipe-interning")
+class RecipeInterningTests {
+    private static final Ingredient FLTO = new Ingredient("FLTO", "Flour Tortilla", Type.WRAP);
+    private static final Ingredient COTO = new Ingredient("COTO", "Corn Tortilla", Type.WRAP);
+    private static final Ingredient GRBF = new Ingredient("GRBF", "Ground Beef", Type.PROTEIN);
+    private static final Ingredient CARN = new Ingredient("CARN", "Carnitas", Type.PROTEIN);
+    private static final Ingredient LETC = new Ingredient("LETC", "Lettuce", Type.VEGGIES);
+    private static final Ingredient TMTO = new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES);
+    private static final Ingredient JACK = new Ingredient("JACK", "Monterrey Jack", Type.CHEESE);
+    private static final Ingredient SLSA = new Ingredient("SLSA", "Salsa", Type.SAUCE);
+    private static final Ingredient SRCR = new Ingredient("SRCR", "Sour Cream", Type.SAUCE);
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testTacosWithTheSameIngredientsShareOneRecipe() {
+        orderRepo.save(order(taco(FLTO, GRBF, SLSA), taco(SLSA, FLTO, GRBF)));
+        orderRepo.save(order(taco(GRBF, SLSA, FLTO)));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from Recipe where ingredient_key = 'FLTO,GRBF,SLSA'", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from Recipe_Ingredients ri join Recipe r on r.id = ri.recipe_id
+                where r.ingredient_key = 'FLTO,GRBF,SLSA'""", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(distinct t.recipe_id) from Taco t join Recipe r on r.id = t.recipe_id
+                where r.ingredient_key = 'FLTO,GRBF,SLSA'""", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void testSavedTacosReadIngredientsFromTheirRecipe() {
+        Long orderId = orderRepo.save(order(taco(LETC, COTO, CARN), taco(COTO))).getId();
+
+        List<List<String>> ingredientIds = transactionTemplate.execute(status ->
+                orderRepo.findById(orderId).orElseThrow().getTacos().stream()
+                        .map(taco -> taco.getIngredients().stream().map(Ingredient::getId).toList())
+                        .toList());
+
+        assertThat(ingredientIds).containsExactlyInAnyOrder(List.of("LETC", "COTO", "CARN"), List.of("COTO"));
+    }
+
+    @Test
+    void testLoadedTacosKeepPickOrderWithoutTouchingTheirRecipe() {
+        Long orderId = orderRepo.save(order(taco(SLSA, FLTO, GRBF), taco(FLTO, GRBF, SLSA))).getId();
+
+        List<Taco> tacos = transactionTemplate.execute(status ->
+                new ArrayList<>(orderRepo.findById(orderId).orElseThrow().getTacos()));
+
+        // Detached, with the recipe never initialized: hashing and logging must not need it
+        assertThat(tacos).allSatisfy(taco -> {
+            assertThat(taco.toString()).contains("Test Taco");
+            assertThat(taco.hashCode()).isEqualTo(taco.hashCode());
+        });
+        assertThat(jdbcTemplate.queryForList("""
+                select t.ingredient_order from Taco_Order_Tacos ot join Taco t on t.id = ot.tacos_id
+                where ot.taco_order_id = ? order by t.id""", String.class, orderId))
+                .containsExactly("2,0,1", null);
+    }
+
+    @Test
+    void testReplacingIngredientsOfASavedTacoAssignsANewRecipe() {
+        Long orderId = orderRepo.save(order(taco(COTO, CARN, JACK))).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Taco taco = orderRepo.findById(orderId).orElseThrow().getTacos().get(0);
+            taco.setIngredients(new ArrayList<>(List.of(SRCR, COTO, GRBF)));
+        });
+
+        List<String> ingredientIds = transactionTemplate.execute(status ->
+                orderRepo.findById(orderId).orElseThrow().getTacos().get(0).getIngredients().stream()
+                        .map(Ingredient::getId)
+                        .toList());
+        assertThat(ingredientIds).containsExactly("SRCR", "COTO", "GRBF");
+    }
+
+    @Test
+    void testConcurrentOrdersCreateANewRecipeOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> orderRepo.save(order(taco(SRCR, TMTO, JACK, COTO)))));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from Recipe where ingredient_key = 'COTO,JACK,SRCR,TMTO'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    private static TacoOrder order(Taco... tacos) {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Test Customer");
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("70123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/23");
+        order.setCcCvv("123");
+        for (Taco taco : tacos) {
+            order.addTaco(taco);
+        }
+        return order;
+    }
+
+    private static Taco taco(Ingredient... ingredients) {
+        Taco taco = new Taco();
+        taco.setName("Test Taco");
+        taco.setIngredients(new ArrayList<>(List.of(ingredients)));
+        return taco;
+    }
+}
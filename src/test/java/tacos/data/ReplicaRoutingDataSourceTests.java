@@ -0,0 +1,97 @@
+package tacos.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+    private HikariDataSource primary;
+    private HikariDataSource replica1;
+    private HikariDataSource replica2;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica-1");
+        replica2 = database("replica-2");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofHours(1));
+        routing.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routing.close();
+    }
+
+    @Test
+    void testSendsReadOnlyTransactionsToReplicasInTurn() {
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica-1");
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica-2");
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica-1");
+
+        assertThat(readWrite.execute(status -> node())).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void testRoutesAroundUnhealthyReplicas() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        routing.bindTo(meterRegistry);
+
+        replica1.close();
+        routing.checkReplicas();
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica-2");
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica-2");
+
+        replica2.close();
+        routing.checkReplicas();
+        assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+
+        assertThat(meterRegistry.get("taco.datasource.replica.healthy").tag("route", "replica-1").gauge().value())
+                .isZero();
+        assertThat(meterRegistry.get("taco.datasource.connections").tag("route", "replica-2")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("taco.datasource.replica.fallbacks").functionCounter().count()).isEqualTo(1);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from Node", String.class);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists Node (name varchar(20))");
+        jdbcTemplate.execute("delete from Node");
+        jdbcTemplate.update("insert into Node values (?)", name);
+        return dataSource;
+    }
+}
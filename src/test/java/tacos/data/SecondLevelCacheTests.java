@@ -0,0 +1,138 @@
+package tacos.data;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.name=second-level-cache")
+class SecondLevelCacheTests {
+    private static final int TACOS = 25;
+    // Statements reading the cached tables; the Taco select itself names columns like ingredient_order
+    private static final Pattern CACHED_TABLES = Pattern.compile(
+            "\\b(from|join)\\s+(ingredient|recipe|recipe_ingredients)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private IngredientRepository ingredientRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingStatementInspector statements;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName("Test Customer");
+        order.setDeliveryStreet("1234 Test Lane");
+        order.setDeliveryCity("Testville");
+        order.setDeliveryState("CA");
+        order.setDeliveryZip("70123");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/23");
+        order.setCcCvv("123");
+        for (int i = 0; i < TACOS; i++) {
+            Taco taco = new Taco();
+            taco.setName("Taco " + i);
+            taco.addIngredient(new Ingredient("FLTO", "Flour Tortilla", Type.WRAP));
+            taco.addIngredient(i % 2 == 0
+                    ? new Ingredient("GRBF", "Ground Beef", Type.PROTEIN)
+                    : new Ingredient("CARN", "Carnitas", Type.PROTEIN));
+            taco.addIngredient(new Ingredient("CHED", "Cheddar", Type.CHEESE));
+            order.addTaco(taco);
+        }
+        orderId = orderRepo.save(order).getId();
+    }
+
+    @Test
+    void testLoadingOrderIssuesNoIngredientSelectsOnceWarm() {
+        assertThat(loadIngredientIds()).hasSize(TACOS * 3);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statements.clear();
+        assertThat(loadIngredientIds()).hasSize(TACOS * 3);
+
+        assertThat(statements.get()).isNotEmpty();
+        assertThat(statements.get()).noneMatch(sql -> CACHED_TABLES.matcher(sql).find());
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void testCatalogQueryIsCached() {
+        assertThat(ingredientRepo.findAll()).hasSize(10);
+
+        statements.clear();
+        assertThat(ingredientRepo.findAll()).hasSize(10);
+
+        assertThat(statements.get()).isEmpty();
+    }
+
+    private List<String> loadIngredientIds() {
+        return transactionTemplate.execute(status -> orderRepo.findById(orderId).orElseThrow()
+                .getTacos().stream()
+                .flatMap(taco -> taco.getIngredients().stream())
+                .map(Ingredient::getId)
+                .toList());
+    }
+
+    static class RecordingStatementInspector implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> get() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
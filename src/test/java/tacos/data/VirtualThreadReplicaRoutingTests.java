@@ -0,0 +1,65 @@
+package tacos.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "taco.threads.virtual=true",
+        "taco.datasource.routing.primary.url=jdbc:h2:mem:virtual-routing-primary;DB_CLOSE_DELAY=-1",
+        "taco.datasource.routing.replicas[0].url=jdbc:h2:mem:virtual-routing-replica;DB_CLOSE_DELAY=-1",
+        "taco.datasource.routing.replicas[0].maximum-pool-size=20",
+        "taco.datasource.routing.replicas[0].init-scripts=classpath:schema.sql,classpath:data.sql"
+})
+@ActiveProfiles("replicas")
+@DirtiesContext
+class VirtualThreadReplicaRoutingTests {
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private IngredientRepository ingredientRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void testBulkheadsEachPoolBehindTheRoutingDataSource() {
+        assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+        List<DataSource> targets = ((ReplicaRoutingDataSource) dataSource).targets();
+        assertThat(targets).hasSize(2).allSatisfy(target -> assertThat(target).isInstanceOf(BulkheadDataSource.class));
+        BulkheadDataSource primary = (BulkheadDataSource) targets.get(0);
+        BulkheadDataSource replica = (BulkheadDataSource) targets.get(1);
+        assertThat(primary.availablePermits()).isEqualTo(10);
+        assertThat(replica.availablePermits()).isEqualTo(20);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> assertThat(ingredientRepo.count()).isEqualTo(10));
+        assertThat(meterRegistry.get("taco.datasource.connections").tag("route", "replica-1")
+                .functionCounter().count()).isPositive();
+
+        // The pools are still shut down with the context
+        context.close();
+        assertThat(((HikariDataSource) primary.getTargetDataSource()).isClosed()).isTrue();
+        assertThat(((HikariDataSource) replica.getTargetDataSource()).isClosed()).isTrue();
+    }
+}
@@ -0,0 +1,216 @@
+package tacos.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.OrderJournalCheckpoint;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.analytics.IngredientPopularity;
+import tacos.analytics.PopularityWindow;
+import tacos.data.IngredientCatalog;
+import tacos.data.OrderJournalCheckpointRepository;
+import tacos.data.OrderRepository;
+import tacos.data.RecipeInterner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = "spring.datasource.name=order-journal")
+class OrderJournalTests {
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private OrderJournalCheckpointRepository checkpointRepo;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    private RecipeInterner recipeInterner;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderJournalProps props;
+    private IngredientPopularity ingredientPopularity;
+
+    @BeforeEach
+    void setUp() {
+        checkpointRepo.deleteAll();
+        ingredientPopularity = new IngredientPopularity();
+        props = new OrderJournalProps();
+        props.setDirectory(directory);
+        // Small enough for ten orders to span several segments
+        props.setSegmentSize(DataSize.ofKilobytes(1));
+        props.setApplyBatchSize(4);
+    }
+
+    @Test
+    void testReplaysEntriesLeftUnappliedByACrash() throws Exception {
+        OrderJournal journal = new OrderJournal(props, new SimpleMeterRegistry());
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            names.add("Journal Crash " + i);
+            assertThat(journal.append(order("Journal Crash " + i))).isEqualTo(i);
+        }
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        // The second batch is written but its transaction never commits
+        AtomicInteger batches = new AtomicInteger();
+        OrderRepository crashingRepo = mock(OrderRepository.class, delegatesTo(orderRepo));
+        doAnswer(invocation -> {
+            Iterable<TacoOrder> saved = orderRepo.saveAll(invocation.getArgument(0));
+            if (batches.incrementAndGet() == 2) {
+                throw new IllegalStateException("Crashed while applying");
+            }
+            return saved;
+        }).when(crashingRepo).saveAll(any());
+
+        OrderJournalApplier crashed = applier(journal, crashingRepo);
+        assertThat(crashed.applyNext()).isEqualTo(4);
+        assertThatThrownBy(crashed::applyNext).hasMessage("Crashed while applying");
+        assertThat(savedOrderNames()).containsExactlyInAnyOrderElementsOf(names.subList(0, 4));
+        assertThat(checkpointRepo.findById(OrderJournalCheckpoint.ID))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getAppliedSequence()).isEqualTo(4));
+
+        // Restart over the same files
+        OrderJournal reopened = new OrderJournal(props, new SimpleMeterRegistry());
+        assertThat(reopened.lastSequence()).isEqualTo(10);
+        OrderJournalApplier replaying = applier(reopened, orderRepo);
+        while (replaying.applyNext() > 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(savedOrderNames()).containsExactlyInAnyOrderElementsOf(names);
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from Taco_Order_Tacos t
+                join Taco_Order o on o.id = t.taco_order_id
+                where o.delivery_name like 'Journal Crash %'""", Integer.class)).isEqualTo(10);
+        assertThat(replaying.lag()).isZero();
+        assertThat(segmentFiles()).hasSize(1);
+        reopened.close();
+
+        // Only committed orders are counted, not the batch that was rolled back
+        assertThat(ingredientPopularity.byType(PopularityWindow.ONE_DAY)).containsEntry(Type.PROTEIN, 10L);
+        // The CVV never went into the journal
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from Taco_Order where delivery_name like 'Journal Crash %' and cc_cvv is null",
+                Integer.class)).isEqualTo(10);
+    }
+
+    @Test
+    void testContinuesAfterCheckpointWhenJournalIsLost() throws Exception {
+        // Entries up to 7 were applied from a journal directory that has since been lost
+        checkpointRepo.save(new OrderJournalCheckpoint(7));
+        OrderJournal journal = new OrderJournal(props, new SimpleMeterRegistry());
+        assertThat(journal.lastSequence()).isZero();
+
+        OrderJournalApplier applier = applier(journal, orderRepo);
+        applier.open();
+        assertThat(journal.lastSequence()).isEqualTo(7);
+        assertThat(journal.append(order("Lost Journal 8"))).isEqualTo(8);
+        assertThat(applier.applyNext()).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForList("select delivery_name from Taco_Order where delivery_name like 'Lost %'",
+                String.class)).containsExactly("Lost Journal 8");
+        assertThat(checkpointRepo.findById(OrderJournalCheckpoint.ID))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getAppliedSequence()).isEqualTo(8));
+        assertThat(segmentFiles()).hasSize(1);
+        journal.close();
+    }
+
+    @Test
+    void testDropsEntryTornByACrash() throws Exception {
+        OrderJournal journal = new OrderJournal(props, new SimpleMeterRegistry());
+        journal.append(order("Journal Torn 1"));
+        journal.append(order("Journal Torn 2"));
+        journal.close();
+
+        // Corrupt the last byte written, as if the crash came before the whole entry reached the file
+        Path segment = segmentFiles().get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) ~bytes[last]}), last);
+        }
+
+        OrderJournal reopened = new OrderJournal(props, new SimpleMeterRegistry());
+        assertThat(reopened.lastSequence()).isEqualTo(1);
+        assertThat(reopened.append(order("Journal Torn 3"))).isEqualTo(2);
+        assertThat(reopened.reader(0).next(10))
+                .extracting(entry -> JournaledOrder.decode(entry.payload()).deliveryName())
+                .containsExactly("Journal Torn 1", "Journal Torn 3");
+        reopened.close();
+    }
+
+    private OrderJournalApplier applier(OrderJournal journal, OrderRepository orderRepo) {
+        return new OrderJournalApplier(journal, orderRepo, checkpointRepo, ingredientCatalog, recipeInterner,
+                ingredientPopularity, transactionManager, props, new SimpleMeterRegistry());
+    }
+
+    private List<String> savedOrderNames() {
+        return jdbcTemplate.queryForList("select delivery_name from Taco_Order where delivery_name like 'Journal %'",
+                String.class);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static TacoOrder order(String deliveryName) {
+        Taco taco = new Taco();
+        taco.setName("Journaled Taco");
+        taco.setIngredients(List.of(
+                new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+                new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+                new Ingredient("SLSA", "Salsa", Type.SAUCE)));
+
+        TacoOrder order = new TacoOrder();
+        order.setDeliveryName(deliveryName);
+        order.setDeliveryStreet("1 Journal Street");
+        order.setDeliveryCity("Tacoville");
+        order.setDeliveryState("TX");
+        order.setDeliveryZip("75001");
+        order.setCcNumber("4111111111111111");
+        order.setCcExpiration("10/29");
+        order.setCcCvv("123");
+        order.addTaco(taco);
+        return order;
+    }
+}
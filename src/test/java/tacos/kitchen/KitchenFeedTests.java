@@ -0,0 +1,213 @@
+package tacos.kitchen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tacos.kitchen.KitchenOrder.KitchenTaco;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KitchenFeedTests {
+    private KitchenFeedProps props;
+    private SimpleMeterRegistry meterRegistry;
+    private KitchenFeed feed;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        props = new KitchenFeedProps();
+        props.setCapacity(16);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (feed != null) {
+            feed.stop();
+        }
+    }
+
+    @Test
+    void testSendsEachOrderToEveryDisplay() {
+        feed = new KitchenFeed(new ObjectMapper(), props, meterRegistry);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        feed.subscribe(first, null);
+        feed.subscribe(second, null);
+
+        for (long id = 1; id <= 3; id++) {
+            feed.publish(order(id));
+        }
+
+        for (RecordingEmitter display : List.of(first, second)) {
+            awaitUntil(() -> display.events.size() == 3);
+            for (int i = 0; i < 3; i++) {
+                assertThat(display.events.get(i))
+                        .contains("id:" + feed.eventId(i + 1))
+                        .contains("event:order")
+                        .contains("\"id\":" + (i + 1))
+                        .contains("\"ingredients\":[\"FLTO\",\"GRBF\"]");
+            }
+        }
+    }
+
+    @Test
+    void testResumesAfterLastEventId() {
+        feed = new KitchenFeed(new ObjectMapper(), props, meterRegistry);
+        for (long id = 1; id <= 3; id++) {
+            feed.publish(order(id));
+        }
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(resumed, feed.eventId(1));
+        awaitUntil(() -> resumed.events.size() == 2);
+        assertThat(resumed.events.get(0)).contains("\"id\":2");
+        assertThat(resumed.events.get(1)).contains("\"id\":3");
+
+        // An id from before a restart cannot be resumed from
+        RecordingEmitter restarted = new RecordingEmitter();
+        feed.subscribe(restarted, "previous-2");
+        awaitUntil(() -> restarted.events.size() == 1);
+        assertThat(restarted.events.get(0)).contains("event:resync").contains("id:" + feed.eventId(3));
+    }
+
+    @Test
+    void testResyncsDisplayOvertakenByTheRing() {
+        feed = new KitchenFeed(new ObjectMapper(), props, meterRegistry);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        feed.subscribe(slow, null);
+
+        feed.publish(order(1));
+        awaitUntil(() -> slow.attempts.get() == 1);
+        // Placing orders carries on while the display is stuck
+        for (long id = 2; id <= 21; id++) {
+            feed.publish(order(id));
+        }
+        release.countDown();
+
+        awaitUntil(() -> slow.events.size() == 2);
+        assertThat(slow.events.get(0)).contains("event:order").contains("\"id\":1");
+        assertThat(slow.events.get(1)).contains("event:resync").contains("id:" + feed.eventId(21));
+        assertThat(meterRegistry.get("taco.kitchen.feed.resyncs").counter().count()).isEqualTo(1);
+
+        feed.publish(order(22));
+        awaitUntil(() -> slow.events.size() == 3);
+        assertThat(slow.events.get(2)).contains("\"id\":22");
+    }
+
+    @Test
+    void testDropsDisplayBlockingAWrite() {
+        props.setSlowConsumerTimeout(Duration.ofMillis(200));
+        feed = new KitchenFeed(new ObjectMapper(), props, meterRegistry);
+        RecordingEmitter stuck = new RecordingEmitter(release);
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.subscribe(stuck, null);
+        feed.subscribe(healthy, null);
+
+        feed.publish(order(1));
+
+        awaitUntil(() -> feed.subscriberCount() == 1);
+        assertThat(meterRegistry.get("taco.kitchen.feed.dropped").counter().count()).isEqualTo(1);
+        awaitUntil(() -> healthy.events.size() == 1);
+    }
+
+    @Test
+    void testDroppedDisplayDoesNotHoldUpTheOthers() {
+        props.setSenderThreads(1);
+        props.setSlowConsumerTimeout(Duration.ofMillis(200));
+        feed = new KitchenFeed(new ObjectMapper(), props, meterRegistry);
+        RecordingEmitter stuck = new RecordingEmitter(release);
+        feed.subscribe(stuck, null);
+        feed.publish(order(1));
+        awaitUntil(() -> stuck.attempts.get() == 1);
+
+        // The only sender is blocked on the stuck display
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.subscribe(healthy, null);
+        feed.publish(order(2));
+
+        awaitUntil(() -> healthy.events.size() == 1);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+        assertThat(feed.senderThreads()).isEqualTo(2);
+
+        // Once the blocked write returns, its stand-in is let go
+        release.countDown();
+        awaitUntil(() -> feed.senderThreads() == 1);
+        feed.publish(order(3));
+        awaitUntil(() -> healthy.events.size() == 2);
+        assertThat(stuck.events).hasSize(1);
+    }
+
+    @Test
+    void testRejectsDisplaysOverTheLimit() {
+        props.setMaxSubscribers(1);
+        feed = new KitchenFeed(new ObjectMapper(), props, meterRegistry);
+        feed.subscribe(new RecordingEmitter(), null);
+
+        assertThatThrownBy(() -> feed.subscribe(new RecordingEmitter(), null))
+                .isInstanceOf(KitchenFeedFullException.class);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+    }
+
+    private static KitchenOrder order(long id) {
+        return new KitchenOrder(id, new Date(), List.of(new KitchenTaco("Taco " + id, List.of("FLTO", "GRBF"))));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5 seconds").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Keeps the text of each event sent, optionally blocking the first send until released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(null);
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (attempts.incrementAndGet() == 1 && release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(data -> event.append(data.getData()));
+            events.add(event.toString());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package tacos.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTests {
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+    private ListAppender<ILoggingEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        filter = new SamplingTurboFilter();
+        filter.setLoggers("tacos.web, org.hibernate.SQL");
+        filter.setEventsPerSecond(5);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        events = new ListAppender<>();
+        events.setContext(context);
+        events.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(events);
+    }
+
+    @Test
+    void testSamplesDebugEventsOfConfiguredLoggers() {
+        Logger web = context.getLogger("tacos.web.DesignTacoController");
+        Logger sql = context.getLogger("org.hibernate.SQL");
+        for (int i = 0; i < 100; i++) {
+            web.debug("Processing taco {}", i);
+            sql.debug("select 1");
+        }
+
+        assertThat(events.list).filteredOn(event -> event.getLoggerName().startsWith("tacos.web")).hasSize(5);
+        assertThat(events.list).filteredOn(event -> event.getLoggerName().equals("org.hibernate.SQL")).hasSize(5);
+        assertThat(filter.getDropped()).isEqualTo(190);
+    }
+
+    @Test
+    void testSamplesConcurrentEventsWithoutLosingCount() throws Exception {
+        Logger web = context.getLogger("tacos.web.OrderController");
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> logging = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                logging.add(threads.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        web.debug("Order {} submitted", i);
+                    }
+                }));
+            }
+            for (Future<?> future : logging) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(events.list.size() + filter.getDropped()).isEqualTo(8000);
+        assertThat(events.list.size()).isBetween(5, 100);
+    }
+
+    @Test
+    void testLeavesOtherEventsAlone() {
+        Logger web = context.getLogger("tacos.web.OrderController");
+        Logger data = context.getLogger("tacos.data.IngredientCatalog");
+        Logger lookalike = context.getLogger("tacos.webhooks.Sender");
+        for (int i = 0; i < 20; i++) {
+            assertThat(web.isDebugEnabled()).isTrue();
+            web.info("Order {} submitted", i);
+            data.debug("Loaded catalog version {}", i);
+            lookalike.debug("Sent {}", i);
+        }
+
+        assertThat(events.list).hasSize(60);
+        assertThat(filter.getDropped()).isZero();
+    }
+}
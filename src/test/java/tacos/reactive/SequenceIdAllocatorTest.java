@@ -0,0 +1,35 @@
+package tacos.reactive;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequenceIdAllocatorTest {
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // Like "start with 1 increment by 50" in schema.sql
+    private final SequenceIdAllocator allocator = new SequenceIdAllocator(() -> Mono.fromSupplier(() -> {
+        calls.incrementAndGet();
+        return sequence.getAndAdd(5);
+    }), 5);
+
+    @Test
+    void testHandsOutIdsBelowEachSequenceValue() {
+        assertThat(allocator.nextIds(1).block()).containsExactly(1);
+        assertThat(allocator.nextIds(3).block()).containsExactly(2, 3, 4);
+        assertThat(allocator.nextIds(3).block()).containsExactly(5, 6, 7);
+        assertThat(allocator.nextIds(3).block()).containsExactly(8, 9, 10);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void testSpansSeveralBlocks() {
+        assertThat(allocator.nextIds(12).block()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+        assertThat(calls).hasValue(4);
+    }
+}
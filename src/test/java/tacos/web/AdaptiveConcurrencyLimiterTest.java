@@ -0,0 +1,73 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(4, 2, 8, Duration.ofMillis(100), 0.5, now::get);
+
+    @Test
+    void testRejectsBeyondLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void testBacksOffOncePerTargetLatencyWhenSlow() {
+        fill(4);
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        // Further slow requests from the same burst leave it alone
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limiter.release(0, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void testGrowsWhileFastAndInUse() {
+        for (int round = 0; round < 50; round++) {
+            int admitted = fill(limiter.getLimit());
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(FAST, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void testDoesNotGrowWhenIdle() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(FAST, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    private int fill(int requests) {
+        int admitted = 0;
+        while (admitted < requests && limiter.tryAcquire()) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,64 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ClientRateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+    private final ClientRateLimiter limiter = new ClientRateLimiter(3, 2, 2, now::get);
+
+    @Test
+    void testAllowsBurstThenRate() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryTake("10.0.0.1")).isZero();
+        }
+        assertThat(limiter.tryTake("10.0.0.1")).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500), within(1000L));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(501));
+        assertThat(limiter.tryTake("10.0.0.1")).isZero();
+        assertThat(limiter.tryTake("10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void testKeepsClientsApart() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryTake("10.0.0.1");
+        }
+        assertThat(limiter.tryTake("10.0.0.1")).isPositive();
+        assertThat(limiter.tryTake("10.0.0.2")).isZero();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void testSharesOneBucketOnceMaxClientsAreTracked() {
+        limiter.tryTake("10.0.0.1");
+        limiter.tryTake("10.0.0.2");
+
+        // Newcomers share what is left of the overflow bucket until a sweep makes room
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryTake("10.0.1." + i)).isZero();
+        }
+        assertThat(limiter.tryTake("10.0.1.3")).isPositive();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        assertThat(limiter.tryTake("10.0.0.1")).isZero();
+    }
+
+    @Test
+    void testSweepDropsRefilledBuckets() {
+        limiter.tryTake("10.0.0.1");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryTake("10.0.0.2");
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.sweep();
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+        assertThat(limiter.tryTake("10.0.1.1")).isZero();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+    }
+}
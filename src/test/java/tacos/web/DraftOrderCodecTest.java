@@ -0,0 +1,99 @@
+package tacos.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DraftOrderCodecTest {
+    private static final String SECRET = "test-secret";
+    private static final Instant NOW = Instant.parse("2023-01-01T12:00:00Z");
+
+    private DraftOrder draft;
+
+    @BeforeEach
+    void setUp() {
+        draft = new DraftOrder();
+        draft.addTaco("Basic Taco", ids("FLTO", "GRBF", "CHED"));
+        draft.addTaco("Another Taco", ids("COTO", "CARN"));
+    }
+
+    @Test
+    void testRoundTrip() {
+        DraftOrderCodec codec = codecAt(NOW);
+
+        DraftOrder decoded = codec.decode(codec.encode(draft)).orElseThrow();
+
+        assertThat(decoded.getTacoCount()).isEqualTo(2);
+        assertThat(decoded.getTacoName(0)).isEqualTo("Basic Taco");
+        assertThat(decoded.getIngredientIds(0)).containsExactly("FLTO", "GRBF", "CHED");
+        assertThat(decoded.getTacoName(1)).isEqualTo("Another Taco");
+        assertThat(decoded.getIngredientIds(1)).containsExactly("COTO", "CARN");
+    }
+
+    @Test
+    void testRejectsTamperedToken() {
+        DraftOrderCodec codec = codecAt(NOW);
+        String token = codec.encode(draft);
+        // Flip a character inside the payload; the last character of each part may only carry padding bits
+        char c = token.charAt(4);
+        String tampered = token.substring(0, 4) + (c == 'A' ? 'B' : 'A') + token.substring(5);
+
+        assertThat(codec.decode(tampered)).isEmpty();
+        assertThat(codec.decode("not-a-token")).isEmpty();
+        assertThat(codec.decode("@@@.@@@")).isEmpty();
+    }
+
+    @Test
+    void testRejectsTokenSignedWithAnotherSecret() {
+        DraftOrderCodec other = new DraftOrderCodec("other-secret", Duration.ofHours(1), 4000, clockAt(NOW));
+
+        assertThat(codecAt(NOW).decode(other.encode(draft))).isEmpty();
+    }
+
+    @Test
+    void testRejectsExpiredToken() {
+        String token = codecAt(NOW).encode(draft);
+
+        assertThat(codecAt(NOW.plus(Duration.ofMinutes(59))).decode(token)).isPresent();
+        assertThat(codecAt(NOW.plus(Duration.ofMinutes(61))).decode(token)).isEmpty();
+    }
+
+    @Test
+    void testRefusesToEncodeOversizedDraft() {
+        DraftOrderCodec codec = new DraftOrderCodec(SECRET, Duration.ofHours(1), 200, clockAt(NOW));
+        for (int i = 0; i < 10; i++) {
+            draft.addTaco("Taco " + i, ids("FLTO", "GRBF", "CHED", "TMTO", "SLSA"));
+        }
+
+        assertThatThrownBy(() -> codec.encode(draft)).isInstanceOf(DraftOrderTooLargeException.class);
+    }
+
+    @Test
+    void testRequiresSecret() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new DraftOrderCodec(" ", Duration.ofHours(1), 4000));
+    }
+
+    private static DraftOrderCodec codecAt(Instant now) {
+        return new DraftOrderCodec(SECRET, Duration.ofHours(1), 4000, clockAt(now));
+    }
+
+    private static Clock clockAt(Instant now) {
+        return Clock.fixed(now, ZoneOffset.UTC);
+    }
+
+    private static int[] ids(String... ids) {
+        int[] packed = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            packed[i] = DraftOrder.pack(ids[i]);
+        }
+        return packed;
+    }
+}
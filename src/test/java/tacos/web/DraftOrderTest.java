@@ -0,0 +1,131 @@
+package tacos.web;
+
+import org.junit.jupiter.api.Test;
+import tacos.Ingredient;
+import tacos.Ingredient.Type;
+import tacos.Taco;
+import tacos.TacoOrder;
+import tacos.data.IngredientCatalog;
+import tacos.data.IngredientRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DraftOrderTest {
+    private static final List<Ingredient> INGREDIENTS = List.of(
+            new Ingredient("FLTO", "Flour Tortilla", Type.WRAP),
+            new Ingredient("GRBF", "Ground Beef", Type.PROTEIN),
+            new Ingredient("CHED", "Cheddar", Type.CHEESE),
+            new Ingredient("TMTO", "Diced Tomatoes", Type.VEGGIES),
+            new Ingredient("SLSA", "Salsa", Type.SAUCE));
+
+    @Test
+    void testPacksIngredientIds() {
+        for (String id : List.of("FLTO", "A", "AB1", "zzzz")) {
+            assertThat(DraftOrder.unpack(DraftOrder.pack(id))).isEqualTo(id);
+        }
+        assertThatIllegalArgumentException().isThrownBy(() -> DraftOrder.pack("TOOLONG"));
+        assertThatIllegalArgumentException().isThrownBy(() -> DraftOrder.pack("Ñ"));
+    }
+
+    @Test
+    void testSurvivesSerialization() throws Exception {
+        DraftOrder draft = newDraft(3);
+
+        DraftOrder copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(draft)))) {
+            copy = (DraftOrder) in.readObject();
+        }
+
+        IngredientRepository ingredientRepo = mock(IngredientRepository.class);
+        when(ingredientRepo.findAll()).thenReturn(INGREDIENTS);
+        List<Taco> tacos = copy.toTacos(new IngredientCatalog(ingredientRepo));
+
+        assertThat(tacos).hasSize(3);
+        assertThat(tacos.get(2).getName()).isEqualTo("Taco Number 2");
+        assertThat(tacos.get(2).getIngredients()).containsExactlyElementsOf(INGREDIENTS);
+    }
+
+    @Test
+    void testSessionFootprint() throws Exception {
+        for (int tacos : new int[]{1, 3, 10}) {
+            TacoOrder tacoOrder = new TacoOrder();
+            for (int i = 0; i < tacos; i++) {
+                tacoOrder.addTaco(newTaco(i));
+            }
+            int orderBytes = serialize(SessionOrder.of(tacoOrder)).length;
+            int draftBytes = serialize(newDraft(tacos)).length;
+
+            assertThat(draftBytes).as("%d tacos: DraftOrder vs TacoOrder bytes", tacos)
+                    .isLessThan(orderBytes / 2);
+        }
+        assertThat(serialize(newDraft(3)).length).isLessThan(200);
+    }
+
+    private static DraftOrder newDraft(int tacos) {
+        DraftOrder draft = new DraftOrder();
+        for (int i = 0; i < tacos; i++) {
+            draft.addTaco(newTaco(i));
+        }
+        return draft;
+    }
+
+    private static Taco newTaco(int number) {
+        Taco taco = new Taco();
+        taco.setName("Taco Number " + number);
+        taco.setIngredients(INGREDIENTS);
+        return taco;
+    }
+
+    /**
+     * What the session used to hold, the in-progress {@link TacoOrder} graph, as Java serialization would write it if
+     * the entities were Serializable: every field of the order, its tacos and their shared ingredients.
+     */
+    private record SessionOrder(Long id, Date placedAt, String deliveryName, String deliveryStreet,
+                                String deliveryCity, String deliveryState, String deliveryZip, String ccNumber,
+                                String ccExpiration, String ccCvv, List<SessionTaco> tacos) implements Serializable {
+        static SessionOrder of(TacoOrder order) {
+            Map<Ingredient, SessionIngredient> ingredients = new HashMap<>();
+            List<SessionTaco> tacos = new ArrayList<>();
+            for (Taco taco : order.getTacos()) {
+                List<SessionIngredient> tacoIngredients = new ArrayList<>();
+                for (Ingredient ingredient : taco.getIngredients()) {
+                    tacoIngredients.add(ingredients.computeIfAbsent(ingredient, i ->
+                            new SessionIngredient(i.getId(), i.getName(), i.getType())));
+                }
+                tacos.add(new SessionTaco(taco.getId(), taco.getCreatedAt(), taco.getName(), tacoIngredients));
+            }
+            return new SessionOrder(order.getId(), order.getPlacedAt(), order.getDeliveryName(),
+                    order.getDeliveryStreet(), order.getDeliveryCity(), order.getDeliveryState(),
+                    order.getDeliveryZip(), order.getCcNumber(), order.getCcExpiration(), order.getCcCvv(), tacos);
+        }
+    }
+
+    private record SessionTaco(Long id, Date createdAt, String name, List<SessionIngredient> ingredients)
+            implements Serializable {
+    }
+
+    private record SessionIngredient(String id, String name, Type type) implements Serializable {
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -4,36 +4,41 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tacos.Ingredient;
 import tacos.Ingredient.Type;
+import tacos.data.IngredientCatalog;
 import tacos.data.IngredientRepository;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class IngredientByIdConverterTest {
+    private IngredientRepository ingredientRepo;
     private IngredientByIdConverter converter;
 
     @BeforeEach
     void setUp() {
-        IngredientRepository ingredientRepo = mock(IngredientRepository.class);
-        when(ingredientRepo.findById("AAAA"))
-                .thenReturn(Optional.of(new Ingredient("AAAA", "TEST INGREDIENT", Type.CHEESE)));
-        when(ingredientRepo.findById("ZZZZ"))
-                .thenReturn(Optional.empty());
+        ingredientRepo = mock(IngredientRepository.class);
+        when(ingredientRepo.findAll())
+                .thenReturn(List.of(new Ingredient("AAAA", "TEST INGREDIENT", Type.CHEESE)));
+        when(ingredientRepo.findAllById(List.of("ZZZZ")))
+                .thenReturn(List.of());
 
-        this.converter = new IngredientByIdConverter(ingredientRepo);
+        this.converter = new IngredientByIdConverter(new IngredientCatalog(ingredientRepo));
     }
 
     @Test
     void testShouldReturnValueWhenPresent() {
         assertThat(converter.convert("AAAA"))
                 .isEqualTo(new Ingredient("AAAA", "TEST INGREDIENT", Type.CHEESE));
+        verify(ingredientRepo, never()).findAllById(List.of("AAAA"));
     }
 
     @Test
     void testShouldReturnNullWhenMissing() {
         assertThat(converter.convert("ZZZZ")).isNull();
     }
-}
\ No newline at end of file
+}